@@ -0,0 +1,477 @@
+package gwt.mobx.processor;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the observable subclass of a single class. For a class Todo the generated class is
+ * named ObservableTodo, or for a nested class Outer.Todo, ObservableOuter_Todo. It has:
+ *
+ * <ul>
+ * <li>a constructor for each non-private constructor of the class, which passes the initial
+ * values of the observable fields to MobX.extendObservable in a single plain object</li>
+ * <li>overrides of the getters and setters of the observable fields, which read and write the
+ * observable properties through a native view of the instance, so no box or closure is
+ * allocated per field. Until extendObservable has run, while the constructor of the class is
+ * running, they read and write the fields instead</li>
+ * <li>overrides of the computed methods, returning the value of a computed created on first
+ * use</li>
+ * <li>overrides of the action methods, running the original method in runInAction</li>
+ * </ul>
+ */
+final class ObservableClassWriter {
+    private final ProcessingEnvironment env;
+    private final Messager messager;
+    private final Types types;
+    private final TypeElement type;
+    private boolean valid = true;
+
+    ObservableClassWriter(ProcessingEnvironment env, TypeElement type) {
+        this.env = env;
+        this.messager = env.getMessager();
+        this.types = env.getTypeUtils();
+        this.type = type;
+    }
+
+    void write() throws IOException {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.FINAL)
+                || type.getModifiers().contains(Modifier.PRIVATE) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error("Observable classes must be classes that are not final, private or abstract", type);
+            return;
+        }
+
+        if (type.getEnclosingElement() instanceof TypeElement && !type.getModifiers().contains(Modifier.STATIC)) {
+            error("Observable classes nested in another class must be static", type);
+            return;
+        }
+
+        List<Property> properties = findProperties();
+        List<ExecutableElement> computeds = findMethods(ObservableProcessor.COMPUTED);
+        List<ExecutableElement> actions = findMethods(ObservableProcessor.ACTION);
+
+        for (ExecutableElement computed : computeds) {
+            if (!computed.getParameters().isEmpty() || computed.getReturnType().getKind() == TypeKind.VOID) {
+                error("Computed methods must have no parameters and must return a value", computed);
+            }
+        }
+
+        if (!valid) {
+            return;
+        }
+
+        String packageName = env.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String name = generatedName();
+        String qualifiedName = packageName.isEmpty() ? name : packageName + "." + name;
+
+        try (PrintWriter out = new PrintWriter(env.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("import gwt.mobx.client.MobX;");
+            out.println("import jsinterop.annotations.JsPackage;");
+            out.println("import jsinterop.annotations.JsType;");
+            out.println();
+            out.println("/**");
+            out.println(" * The observable version of {@link " + type.getQualifiedName() + "}, generated by the ObservableProcessor");
+            out.println(" */");
+            out.println("@SuppressWarnings(\"unchecked\")");
+            out.println("public class " + name + typeParameters(type.getTypeParameters(), true)
+                + " extends " + type.getQualifiedName() + typeParameters(type.getTypeParameters(), false) + " {");
+
+            if (!properties.isEmpty()) {
+                out.println("    private boolean $registered;");
+            }
+
+            for (ExecutableElement computed : computeds) {
+                out.println("    private " + computedType(computed.getReturnType()) + " " + computedField(computed) + ";");
+            }
+
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (!constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                    writeConstructor(out, name, constructor, properties);
+                }
+            }
+
+            for (Property property : properties) {
+                writeAccessors(out, property);
+            }
+
+            for (ExecutableElement computed : computeds) {
+                writeComputed(out, computed);
+            }
+
+            for (ExecutableElement action : actions) {
+                writeAction(out, action);
+            }
+
+            out.println();
+            out.println("    private Props props() {");
+            out.println("        return (Props)(Object)this;");
+            out.println("    }");
+            out.println();
+            out.println("    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = \"Object\")");
+            out.println("    private static class Props {");
+            for (Property property : properties) {
+                out.println("        public " + propertyType(property.field.asType()) + " " + property.name + ";");
+            }
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    private List<Property> findProperties() {
+        boolean allFields = hasAnnotation(type, ObservableProcessor.OBSERVABLE);
+        List<Property> properties = new ArrayList<>();
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            boolean annotated = hasAnnotation(field, ObservableProcessor.OBSERVABLE);
+
+            if (!annotated && !(allFields && isInstanceField(field))) {
+                continue;
+            }
+
+            if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.FINAL)) {
+                error("Observable fields must not be static or final", field);
+            } else if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                error("Observable fields must not be private", field);
+            } else {
+                Property property = new Property(field, findGetter(field), findSetter(field));
+
+                if (property.getter == null) {
+                    warning("The observable field has no getter, so reads of it can't be tracked", field);
+                }
+                if (property.setter == null) {
+                    warning("The observable field has no setter, so changes to it can't be observed", field);
+                }
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+
+    private ExecutableElement findGetter(VariableElement field) {
+        String suffix = capitalize(field.getSimpleName().toString());
+
+        for (ExecutableElement method : ElementFilter.methodsIn(env.getElementUtils().getAllMembers(type))) {
+            String methodName = method.getSimpleName().toString();
+            boolean named = methodName.equals("get" + suffix)
+                || (methodName.equals("is" + suffix) && field.asType().getKind() == TypeKind.BOOLEAN);
+
+            if (named && method.getParameters().isEmpty() && types.isSameType(method.getReturnType(), field.asType())) {
+                return checkOverridable(method);
+            }
+        }
+        return null;
+    }
+
+    private ExecutableElement findSetter(VariableElement field) {
+        String setterName = "set" + capitalize(field.getSimpleName().toString());
+
+        for (ExecutableElement method : ElementFilter.methodsIn(env.getElementUtils().getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(setterName) && method.getParameters().size() == 1
+                    && types.isSameType(method.getParameters().get(0).asType(), field.asType())) {
+                return checkOverridable(method);
+            }
+        }
+        return null;
+    }
+
+    private List<ExecutableElement> findMethods(String annotation) {
+        List<ExecutableElement> methods = new ArrayList<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (hasAnnotation(method, annotation)) {
+                methods.add(checkOverridable(method));
+            }
+        }
+        return methods;
+    }
+
+    private ExecutableElement checkOverridable(ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.FINAL)
+                || method.getModifiers().contains(Modifier.STATIC)) {
+            error("The generated observable class must override this method, so it must not be private, final or static", method);
+        }
+        return method;
+    }
+
+    private void writeConstructor(PrintWriter out, String name, ExecutableElement constructor, List<Property> properties) {
+        out.println();
+        out.println("    " + visibility(constructor) + typeParameters(constructor.getTypeParameters(), true, " ")
+            + name + "(" + parameters(constructor) + ")" + throwsClause(constructor) + " {");
+        out.println("        super(" + arguments(constructor) + ");");
+
+        if (!properties.isEmpty()) {
+            out.println();
+            out.println("        Props props = new Props();");
+            for (Property property : properties) {
+                String value = "this." + property.name;
+
+                if (!property.field.asType().getKind().isPrimitive()) {
+                    value = "MobX.asReference(" + value + ")";
+                }
+                out.println("        props." + property.name + " = " + value + ";");
+            }
+            out.println("        MobX.extendObservable(this, props);");
+            out.println("        $registered = true;");
+        }
+        out.println("    }");
+    }
+
+    private void writeAccessors(PrintWriter out, Property property) {
+        TypeMirror fieldType = property.field.asType();
+
+        if (property.getter != null) {
+            String value = "props()." + property.name;
+
+            if (!propertyType(fieldType).equals(fieldType.toString())) {
+                value = "(" + boxedType(fieldType) + ")" + value;
+            }
+
+            out.println();
+            out.println("    @Override");
+            out.println("    " + signature(property.getter) + " {");
+            out.println("        if (!$registered) {");
+            out.println("            return this." + property.name + ";");
+            out.println("        }");
+            out.println("        return " + value + ";");
+            out.println("    }");
+        }
+
+        if (property.setter != null) {
+            out.println();
+            out.println("    @Override");
+            String parameter = property.setter.getParameters().get(0).getSimpleName().toString();
+
+            out.println("    " + signature(property.setter) + " {");
+            out.println("        if (!$registered) {");
+            out.println("            this." + property.name + " = " + parameter + ";");
+            out.println("        } else {");
+            out.println("            props()." + property.name + " = " + parameter + ";");
+            out.println("        }");
+            out.println("    }");
+        }
+    }
+
+    private void writeComputed(PrintWriter out, ExecutableElement computed) {
+        TypeMirror returnType = computed.getReturnType();
+        String field = computedField(computed);
+
+        out.println();
+        out.println("    @Override");
+        out.println("    " + signature(computed) + " {");
+        out.println("        if (" + field + " == null) {");
+        out.println("            " + field + " = MobX.computed((" + expressionType(returnType) + ")() -> super." + computed.getSimpleName() + "());");
+        out.println("        }");
+        out.println("        return " + field + ".get();");
+        out.println("    }");
+    }
+
+    private void writeAction(PrintWriter out, ExecutableElement action) {
+        String actionName = "\"" + type.getSimpleName() + "." + action.getSimpleName() + "\"";
+        String call = "super." + action.getSimpleName() + "(" + arguments(action) + ")";
+
+        out.println();
+        out.println("    @Override");
+        out.println("    " + signature(action) + " {");
+
+        if (action.getReturnType().getKind() == TypeKind.VOID) {
+            out.println("        MobX.runInAction(" + actionName + ", () -> " + call + ");");
+        } else {
+            out.println("        Object[] $result = new Object[1];");
+            out.println();
+            out.println("        MobX.runInAction(" + actionName + ", () -> $result[0] = " + call + ");");
+            out.println("        return (" + boxedType(action.getReturnType()) + ")$result[0];");
+        }
+        out.println("    }");
+    }
+
+    private String signature(ExecutableElement method) {
+        return visibility(method) + typeParameters(method.getTypeParameters(), true, " ")
+            + method.getReturnType() + " " + method.getSimpleName() + "(" + parameters(method) + ")" + throwsClause(method);
+    }
+
+    private String generatedName() {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+        return "Observable" + name;
+    }
+
+    /**
+     * The type of the computed field. Primitives other than int, double and boolean use a
+     * ComputedValue of the boxed type
+     */
+    private String computedType(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT: return "MobX.ComputedIntValue";
+            case DOUBLE: return "MobX.ComputedDoubleValue";
+            case BOOLEAN: return "MobX.ComputedBooleanValue";
+            default: return "MobX.ComputedValue<" + boxedType(type) + ">";
+        }
+    }
+
+    private String expressionType(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT: return "MobX.ComputedIntExpression";
+            case DOUBLE: return "MobX.ComputedDoubleExpression";
+            case BOOLEAN: return "MobX.ComputedBooleanExpression";
+            default: return "MobX.ComputedExpression<" + boxedType(type) + ">";
+        }
+    }
+
+    /**
+     * The type of a property in the native view. long isn't usable by JavaScript, so it is
+     * stored boxed, like any object
+     */
+    private String propertyType(TypeMirror type) {
+        return type.getKind().isPrimitive() && type.getKind() != TypeKind.LONG ? type.toString() : "Object";
+    }
+
+    private String boxedType(TypeMirror type) {
+        return type.getKind().isPrimitive() ? types.boxedClass(types.getPrimitiveType(type.getKind())).getQualifiedName().toString() : type.toString();
+    }
+
+    private String computedField(ExecutableElement computed) {
+        return computed.getSimpleName() + "$computed";
+    }
+
+    private static String visibility(ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.PUBLIC)) {
+            return "public ";
+        }
+        return method.getModifiers().contains(Modifier.PROTECTED) ? "protected " : "";
+    }
+
+    private static String parameters(ExecutableElement method) {
+        StringBuilder result = new StringBuilder();
+        List<? extends VariableElement> parameters = method.getParameters();
+
+        for (int i = 0; i < parameters.size(); i++) {
+            String parameterType = parameters.get(i).asType().toString();
+
+            if (i == parameters.size() - 1 && method.isVarArgs()) {
+                parameterType = parameterType.substring(0, parameterType.length() - 2) + "...";
+            }
+
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(parameterType).append(" ").append(parameters.get(i).getSimpleName());
+        }
+        return result.toString();
+    }
+
+    private static String arguments(ExecutableElement method) {
+        StringBuilder result = new StringBuilder();
+
+        for (VariableElement parameter : method.getParameters()) {
+            if (result.length() > 0) {
+                result.append(", ");
+            }
+            result.append(parameter.getSimpleName());
+        }
+        return result.toString();
+    }
+
+    private static String throwsClause(ExecutableElement method) {
+        StringBuilder result = new StringBuilder();
+
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            result.append(result.length() == 0 ? " throws " : ", ").append(thrown);
+        }
+        return result.toString();
+    }
+
+    private static String typeParameters(List<? extends TypeParameterElement> parameters, boolean withBounds) {
+        return typeParameters(parameters, withBounds, "");
+    }
+
+    private static String typeParameters(List<? extends TypeParameterElement> parameters, boolean withBounds, String suffix) {
+        if (parameters.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder result = new StringBuilder("<");
+
+        for (TypeParameterElement parameter : parameters) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(parameter.getSimpleName());
+
+            if (withBounds) {
+                String separator = " extends ";
+
+                for (TypeMirror bound : parameter.getBounds()) {
+                    if (!bound.toString().equals("java.lang.Object")) {
+                        result.append(separator).append(bound);
+                        separator = " & ";
+                    }
+                }
+            }
+        }
+        return result.append(">").append(suffix).toString();
+    }
+
+    private static boolean isInstanceField(VariableElement field) {
+        return !field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.FINAL)
+            && !field.getModifiers().contains(Modifier.TRANSIENT);
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement)mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void error(String message, Element element) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        valid = false;
+    }
+
+    private void warning(String message, Element element) {
+        messager.printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    private static final class Property {
+        final VariableElement field;
+        final String name;
+        final ExecutableElement getter;
+        final ExecutableElement setter;
+
+        Property(VariableElement field, ExecutableElement getter, ExecutableElement setter) {
+            this.field = field;
+            this.name = field.getSimpleName().toString();
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package gwt.mobx.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Generates an observable subclass for each class using the Observable, Computed and Action
+ * annotations from gwt.mobx.client.annotations. The processor is registered as a service, so
+ * javac runs it automatically when gwt-mobx is on the compile classpath.
+ *
+ * @see ObservableClassWriter
+ */
+@SupportedAnnotationTypes({
+    ObservableProcessor.OBSERVABLE,
+    ObservableProcessor.COMPUTED,
+    ObservableProcessor.ACTION
+})
+public class ObservableProcessor extends AbstractProcessor {
+    static final String OBSERVABLE = "gwt.mobx.client.annotations.Observable";
+    static final String COMPUTED = "gwt.mobx.client.annotations.Computed";
+    static final String ACTION = "gwt.mobx.client.annotations.Action";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                types.add(element instanceof TypeElement ? (TypeElement)element : (TypeElement)element.getEnclosingElement());
+            }
+        }
+
+        for (TypeElement type : types) {
+            try {
+                new ObservableClassWriter(processingEnv, type).write();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write the observable class: " + e.getMessage(), type);
+            }
+        }
+        return true;
+    }
+}
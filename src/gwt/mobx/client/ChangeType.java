@@ -0,0 +1,62 @@
+package gwt.mobx.client;
+
+/**
+ * The type of a change reported to the observe listeners and interceptors of observable maps
+ * and arrays. MobX reports the type as a string, use of to convert it.
+ */
+public enum ChangeType {
+    /**
+     * A new entry was added to a map or object
+     */
+    ADD("add"),
+
+    /**
+     * The value of an existing entry was replaced
+     */
+    UPDATE("update"),
+
+    /**
+     * An entry was removed from a map
+     */
+    DELETE("delete"),
+
+    /**
+     * Entries were removed from and/or inserted into an array
+     */
+    SPLICE("splice");
+
+    private final String type;
+
+    ChangeType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * @return The string MobX uses for this type of change
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the ChangeType for a type reported by MobX
+     *
+     * @param type The type of the change
+     * @return The matching ChangeType
+     * @throws IllegalArgumentException If type isn't a known type of change
+     */
+    public static ChangeType of(String type) {
+        switch (type) {
+            case "add":
+                return ADD;
+            case "update":
+                return UPDATE;
+            case "delete":
+                return DELETE;
+            case "splice":
+                return SPLICE;
+            default:
+                throw new IllegalArgumentException("Unknown change type " + type);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.ComputedExpression;
+import gwt.mobx.client.MobX.ComputedValue;
+import jsinterop.annotations.JsFunction;
+
+/**
+ * Options for MobX.computed, specifying how a newly computed value is compared with the
+ * previous one. If the values are considered equal, the previous value is kept and observers
+ * of the computed value are not notified. This stops an unchanged result, like a filtered array
+ * with the same entries, from cascading into downstream derivations and re-renders.
+ *
+ * @param <T> The type of value being compared
+ */
+public final class ComputedOptions<T> {
+    private static final ComputedOptions<Object> IDENTITY = new ComputedOptions<>(null, false);
+    private static final ComputedOptions<Object> STRUCTURAL = new ComputedOptions<>(null, true);
+    private static final ComputedOptions<Array<?>> SHALLOW_ARRAY = new ComputedOptions<>(ComputedOptions::shallowArrayEquals, false);
+
+    private final Comparer<T> comparer;
+    private final boolean structural;
+
+    private ComputedOptions(Comparer<T> comparer, boolean structural) {
+        this.comparer = comparer;
+        this.structural = structural;
+    }
+
+    /**
+     * Values are equal if they are the same reference. This is the default MobX behaviour
+     *
+     * @return ComputedOptions using identity comparison
+     */
+    public static ComputedOptions<Object> identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * Values are equal if they are deeply equal, i.e. they have the same structure and the same
+     * primitive values. This uses the MobX asStructure modifier
+     *
+     * @return ComputedOptions using structural comparison
+     */
+    public static ComputedOptions<Object> structural() {
+        return STRUCTURAL;
+    }
+
+    /**
+     * Arrays are equal if they have the same length and contain the same references at each
+     * index
+     *
+     * @return ComputedOptions using shallow array comparison
+     */
+    public static ComputedOptions<Array<?>> shallowArray() {
+        return SHALLOW_ARRAY;
+    }
+
+    /**
+     * Values are equal if the supplied comparer says so
+     *
+     * @param comparer The Comparer to use
+     * @param <T> The type of value being compared
+     * @return ComputedOptions using the comparer
+     */
+    public static <T> ComputedOptions<T> comparer(Comparer<T> comparer) {
+        return new ComputedOptions<>(comparer, false);
+    }
+
+    <T2 extends T> ComputedValue<T2> createComputed(ComputedExpression<T2> exprFn) {
+        if (structural) {
+            return ValueModifiers.computedModified(ValueModifiers.asStructure(exprFn));
+        }
+        if (comparer == null) {
+            return MobX.computed(exprFn);
+        }
+        return MobX.computed(new ComparingExpression<>(exprFn, comparer));
+    }
+
+    private static boolean shallowArrayEquals(Array<?> a, Array<?> b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.getLength() != b.getLength()) {
+            return false;
+        }
+
+        for (int i = 0, l = a.getLength(); i < l; i++) {
+            if (a.getAt(i) != b.getAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @JsFunction
+    public interface Comparer<T> {
+        boolean areEqual(T a, T b);
+    }
+
+    /**
+     * Returns the previous result if the comparer considers it equal to the new one, so MobX
+     * sees an unchanged value.
+     */
+    private static final class ComparingExpression<T2 extends T, T> implements ComputedExpression<T2> {
+        private final ComputedExpression<T2> exprFn;
+        private final Comparer<T> comparer;
+        private boolean hasValue;
+        private T2 value;
+
+        ComparingExpression(ComputedExpression<T2> exprFn, Comparer<T> comparer) {
+            this.exprFn = exprFn;
+            this.comparer = comparer;
+        }
+
+        @Override
+        public T2 compute() {
+            T2 newValue = exprFn.compute();
+
+            if (!hasValue || !comparer.areEqual(value, newValue)) {
+                hasValue = true;
+                value = newValue;
+            }
+            return value;
+        }
+    }
+}
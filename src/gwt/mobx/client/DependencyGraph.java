@@ -0,0 +1,219 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobXExtras.DerivationNode;
+import gwt.react.client.components.Component;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of part of the MobX dependency graph, for auditing how observables and derivations
+ * are wired together. Starting from the things added to it, the graph follows both the
+ * dependencies and the observers of each node, so it contains everything connected to them.
+ *
+ * <p>For each node the graph reports its fan-in (the number of nodes it depends on), fan-out
+ * (the number of nodes observing it) and depth (the length of the longest path from an atom to
+ * the node). A reaction with a large fan-in, or a computed value depending on a whole
+ * ObservableArray when it only uses a single element, are typical candidates for
+ * restructuring.</p>
+ *
+ * <p>The graph isn't live. Create a new one to see the effect of subsequent changes.</p>
+ */
+public class DependencyGraph {
+    private final Map<DerivationNode, Node> nodes = new IdentityHashMap<>();
+
+    /**
+     * Adds the supplied thing, and everything connected to it, to the graph
+     *
+     * @param thing An ObservableValue, ComputedValue, ObservableArray, ObservableMap or the
+     *              DisposerFunction returned by autorun or reaction
+     * @return The node representing thing
+     */
+    public Node add(Object thing) {
+        return visit(MobXExtras.getAtom(thing));
+    }
+
+    /**
+     * Adds a single property of an observable object, or a single entry of an ObservableMap,
+     * and everything connected to it, to the graph
+     *
+     * @param thing An observable object or ObservableMap
+     * @param property The property name or map key
+     * @return The node representing the property
+     */
+    public Node add(Object thing, String property) {
+        return visit(MobXExtras.getAtom(thing, property));
+    }
+
+    /**
+     * Adds the reaction that renders an observer component, and everything connected to it, to
+     * the graph. The component must be mounted.
+     *
+     * @param component A component created from a class passed to MobXReact.observer
+     * @return The node representing the render reaction
+     */
+    public Node addComponent(Component<?, ?> component) {
+        return add(((ObserverComponent)(Object)component).render);
+    }
+
+    /**
+     * @return All the nodes in the graph
+     */
+    public List<Node> getNodes() {
+        return new ArrayList<>(nodes.values());
+    }
+
+    /**
+     * Returns the nodes with at least the given fan-in, with the largest fan-in first
+     *
+     * @param minFanIn The minimum number of dependencies
+     * @return The matching nodes
+     */
+    public List<Node> findByFanIn(int minFanIn) {
+        List<Node> result = new ArrayList<>();
+
+        for (Node node : nodes.values()) {
+            if (node.getFanIn() >= minFanIn) {
+                result.add(node);
+            }
+        }
+        Collections.sort(result, (a, b) -> b.getFanIn() - a.getFanIn());
+
+        return result;
+    }
+
+    /**
+     * Returns the nodes with at least the given fan-out, with the largest fan-out first
+     *
+     * @param minFanOut The minimum number of observers
+     * @return The matching nodes
+     */
+    public List<Node> findByFanOut(int minFanOut) {
+        List<Node> result = new ArrayList<>();
+
+        for (Node node : nodes.values()) {
+            if (node.getFanOut() >= minFanOut) {
+                result.add(node);
+            }
+        }
+        Collections.sort(result, (a, b) -> b.getFanOut() - a.getFanOut());
+
+        return result;
+    }
+
+    private Node visit(DerivationNode root) {
+        List<DerivationNode> pending = new ArrayList<>();
+        Node rootNode = nodeFor(root, pending);
+
+        while (!pending.isEmpty()) {
+            DerivationNode next = pending.remove(pending.size() - 1);
+            Node node = nodes.get(next);
+
+            link(next.observing, node.dependencies, pending);
+            link(next.observers, node.observers, pending);
+        }
+        return rootNode;
+    }
+
+    private void link(Array<DerivationNode> targets, List<Node> links, List<DerivationNode> pending) {
+        if (targets == null) {
+            return;
+        }
+
+        for (int i = 0; i < targets.getLength(); i++) {
+            links.add(nodeFor(targets.getAt(i), pending));
+        }
+    }
+
+    private Node nodeFor(DerivationNode target, List<DerivationNode> pending) {
+        Node node = nodes.get(target);
+
+        if (node == null) {
+            node = new Node(target.name);
+            nodes.put(target, node);
+            pending.add(target);
+        }
+        return node;
+    }
+
+    /**
+     * A node in the dependency graph
+     */
+    public static class Node {
+        private final String name;
+        private final List<Node> dependencies = new ArrayList<>();
+        private final List<Node> observers = new ArrayList<>();
+        private int depth = -1;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return The debug name of the node
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The nodes this node depends on. Empty for atoms
+         */
+        public List<Node> getDependencies() {
+            return Collections.unmodifiableList(dependencies);
+        }
+
+        /**
+         * @return The nodes observing this node. Empty for reactions and unobserved nodes
+         */
+        public List<Node> getObservers() {
+            return Collections.unmodifiableList(observers);
+        }
+
+        /**
+         * @return The number of nodes this node depends on
+         */
+        public int getFanIn() {
+            return dependencies.size();
+        }
+
+        /**
+         * @return The number of nodes observing this node
+         */
+        public int getFanOut() {
+            return observers.size();
+        }
+
+        /**
+         * @return The length of the longest path from an atom to this node. Atoms have a depth of 0
+         */
+        public int getDepth() {
+            if (depth < 0) {
+                //The graph is acyclic, so the recursion is bounded by the longest path
+                int max = -1;
+
+                for (Node dependency : dependencies) {
+                    max = Math.max(max, dependency.getDepth());
+                }
+                depth = max + 1;
+            }
+            return depth;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (fan-in " + getFanIn() + ", fan-out " + getFanOut() + ", depth " + getDepth() + ")";
+        }
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    private static class ObserverComponent {
+        public Object render;
+    }
+}
@@ -0,0 +1,126 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.Reaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The base of the arrays returned by ObservableArrays.filtered, mapped and sorted. Subclasses
+ * translate the changes reported by ItemTracker into inserts, deletes and replacements at
+ * positions of the derived array. These are recorded, with adjacent ones merged into a single
+ * splice, and applied to the derived array together:
+ *
+ * <ul>
+ * <li>after each splice or update of the source array, so the derived array is consistent
+ * with the source as soon as the change has been made</li>
+ * <li>after the reactions of the entries have run, which happens when an observable read by
+ * the function of many entries, such as the current filter, changes</li>
+ * </ul>
+ *
+ * <p>When a large number of changes has to be applied at once, it is cheaper to replace the
+ * contents of the derived array in a single O(n) pass than to splice them in one at a time.</p>
+ *
+ * @param <T> The type of element of the source array
+ * @param <V> The type of the value computed for each entry
+ * @param <O> The type of element of the derived array
+ */
+abstract class DerivedArray<T, V, O> extends ItemTracker<T, V> {
+    //Above this number of splices the derived array is rebuilt instead
+    private static final int REPLAY_LIMIT = 64;
+
+    final ObservableArray<O> array = MobX.observableShallow(JsArray.create());
+    private final Reaction flusher;
+    private List<Splice<O>> pending = new ArrayList<>();
+
+    DerivedArray(String name, ItemFn<T, V> fn) {
+        super(name, fn);
+        flusher = new Reaction(name + ".flush", this::flush);
+    }
+
+    /**
+     * Adds all the elements of the derived array to target, in order
+     */
+    abstract void rebuild(Array<O> target);
+
+    void insert(int index, O value) {
+        record(index, 0).added.push(value);
+    }
+
+    void delete(int index) {
+        record(index, 1);
+    }
+
+    void replace(int index, O value) {
+        record(index, 1).added.push(value);
+    }
+
+    @Override
+    void sourceChanged() {
+        flush();
+    }
+
+    @Override
+    void dispose() {
+        super.dispose();
+        flusher.dispose();
+        pending.clear();
+    }
+
+    private Splice<O> record(int index, int removedCount) {
+        int size = pending.size();
+
+        if (size > 0) {
+            Splice<O> last = pending.get(size - 1);
+
+            if (index == last.index + last.added.getLength()) {
+                last.removedCount += removedCount;
+                return last;
+            }
+        } else {
+            //The flusher never tracks anything, so scheduling it always runs it, after the
+            //reactions that are currently pending
+            flusher.schedule();
+        }
+
+        Splice<O> splice = new Splice<>(index, removedCount);
+
+        pending.add(splice);
+        return splice;
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Splice<O>> splices = pending;
+
+        pending = new ArrayList<>();
+        MobX.runInAction(name, () -> {
+            if (splices.size() > REPLAY_LIMIT) {
+                Array<O> values = JsArray.create();
+
+                rebuild(values);
+                array.replace(values);
+            } else {
+                for (Splice<O> splice : splices) {
+                    array.spliceWithArray(splice.index, splice.removedCount, splice.added);
+                }
+            }
+        });
+    }
+
+    private static final class Splice<O> {
+        final int index;
+        int removedCount;
+        final Array<O> added = JsArray.create();
+
+        Splice(int index, int removedCount) {
+            this.index = index;
+            this.removedCount = removedCount;
+        }
+    }
+}
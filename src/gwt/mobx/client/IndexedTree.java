@@ -0,0 +1,228 @@
+package gwt.mobx.client;
+
+import java.util.Comparator;
+
+/**
+ * A sequence of values held in a balanced tree (a treap), so values can be inserted, removed
+ * and located by position in O(log n). Each node also has an integer weight, and the total
+ * weight of the nodes before a node can be found in O(log n) as well. This is used to map
+ * positions in a source array to positions in a derived one.
+ *
+ * @param <E> The type of value
+ */
+final class IndexedTree<E> {
+    private Node<E> root;
+
+    //The results of split, held in fields to avoid allocating a pair per call
+    private Node<E> splitLeft;
+    private Node<E> splitRight;
+
+    static final class Node<E> {
+        final E value;
+        private final double priority = Math.random();
+        private Node<E> left;
+        private Node<E> right;
+        private Node<E> parent;
+        private int size = 1;
+        private int weight;
+        private int totalWeight;
+
+        Node(E value, int weight) {
+            this.value = value;
+            this.weight = weight;
+            this.totalWeight = weight;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * @return The total weight of all the nodes
+     */
+    int totalWeight() {
+        return totalWeight(root);
+    }
+
+    Node<E> get(int index) {
+        Node<E> node = root;
+
+        while (node != null) {
+            int leftSize = size(node.left);
+
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    Node<E> insertAt(int index, E value, int weight) {
+        Node<E> node = new Node<>(value, weight);
+
+        split(root, index);
+        Node<E> right = splitRight;
+        setRoot(merge(merge(splitLeft, node), right));
+
+        return node;
+    }
+
+    /**
+     * Inserts a value after all the values that compare less than or equal to it, so the tree
+     * stays sorted if it was sorted before
+     */
+    Node<E> insertSorted(E value, int weight, Comparator<? super E> comparator) {
+        Node<E> node = root;
+        int index = 0;
+
+        while (node != null) {
+            if (comparator.compare(value, node.value) < 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return insertAt(index, value, weight);
+    }
+
+    void remove(Node<E> node) {
+        split(root, indexOf(node));
+        Node<E> left = splitLeft;
+        split(splitRight, 1);
+        setRoot(merge(left, splitRight));
+
+        node.parent = null;
+    }
+
+    int indexOf(Node<E> node) {
+        int index = size(node.left);
+
+        for (Node<E> n = node; n.parent != null; n = n.parent) {
+            if (n == n.parent.right) {
+                index += size(n.parent.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return The total weight of all the nodes before the given node
+     */
+    int weightBefore(Node<E> node) {
+        int total = totalWeight(node.left);
+
+        for (Node<E> n = node; n.parent != null; n = n.parent) {
+            if (n == n.parent.right) {
+                total += totalWeight(n.parent.left) + n.parent.weight;
+            }
+        }
+        return total;
+    }
+
+    void setWeight(Node<E> node, int weight) {
+        node.weight = weight;
+
+        for (Node<E> n = node; n != null; n = n.parent) {
+            n.totalWeight = n.weight + totalWeight(n.left) + totalWeight(n.right);
+        }
+    }
+
+    /**
+     * Calls the visitor for each value in order
+     */
+    void forEach(Visitor<E> visitor) {
+        forEach(root, visitor);
+    }
+
+    interface Visitor<E> {
+        void visit(E value);
+    }
+
+    private static <E> void forEach(Node<E> node, Visitor<E> visitor) {
+        if (node != null) {
+            forEach(node.left, visitor);
+            visitor.visit(node.value);
+            forEach(node.right, visitor);
+        }
+    }
+
+    private void setRoot(Node<E> node) {
+        root = node;
+
+        if (node != null) {
+            node.parent = null;
+        }
+    }
+
+    /**
+     * Splits the tree into the first count nodes (splitLeft) and the rest (splitRight)
+     */
+    private void split(Node<E> node, int count) {
+        if (node == null) {
+            splitLeft = null;
+            splitRight = null;
+        } else if (size(node.left) < count) {
+            split(node.right, count - size(node.left) - 1);
+            node.right = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(node.left, count);
+            node.left = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            update(right);
+            return right;
+        }
+    }
+
+    private static <E> void update(Node<E> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        node.totalWeight = node.weight + totalWeight(node.left) + totalWeight(node.right);
+
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int totalWeight(Node<?> node) {
+        return node == null ? 0 : node.totalWeight;
+    }
+}
@@ -0,0 +1,150 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobX.Reaction;
+import gwt.mobx.client.ObservableArray.ArrayChange;
+import gwt.mobx.client.ObservableArray.ArraySplice;
+
+import java.util.Objects;
+
+/**
+ * Evaluates a function for each entry of an ObservableArray and keeps the results up to date.
+ * Every entry gets its own Reaction, so when an observable read by the function changes, only
+ * the entries that read it are evaluated again. Splices and updates of the array are applied
+ * as they happen, so entries that didn't change are never evaluated again.
+ *
+ * <p>The entries are held in an IndexedTree in the same order as the array, which allows
+ * subclasses to translate the position of an entry into a position in whatever they derive from
+ * the array in O(log n).</p>
+ *
+ * @param <T> The type of Array element
+ * @param <V> The type of the value computed for each entry
+ */
+abstract class ItemTracker<T, V> {
+    final String name;
+    final IndexedTree<Item<T, V>> items = new IndexedTree<>();
+    private final ItemFn<T, V> fn;
+    private DisposerFunction disposer;
+
+    ItemTracker(String name, ItemFn<T, V> fn) {
+        this.name = name;
+        this.fn = fn;
+    }
+
+    /**
+     * Starts tracking the entries of the array. The entries already in the array are added
+     * straight away.
+     */
+    void track(ObservableArray<T> source) {
+        disposer = source.observe(this::onChange, true);
+    }
+
+    /**
+     * Stops tracking the array and disposes the reactions of all the entries
+     */
+    void dispose() {
+        if (disposer != null) {
+            disposer.dispose();
+            disposer = null;
+            items.forEach(item -> item.reaction.dispose());
+        }
+    }
+
+    /**
+     * Called when an entry has been added to the array. The entry is already in items
+     */
+    abstract void added(Item<T, V> item);
+
+    /**
+     * Called when an entry is being removed from the array. The entry is still in items
+     */
+    abstract void removed(Item<T, V> item);
+
+    /**
+     * Called when the value of an entry has changed
+     */
+    abstract void changed(Item<T, V> item, V oldValue);
+
+    /**
+     * Called after a splice or update of the array has been applied
+     */
+    void sourceChanged() {
+    }
+
+    private void onChange(ArrayChange<T> change) {
+        MobX.transaction(() -> {
+            if (change.isSplice()) {
+                ArraySplice<T> splice = change.asSplice();
+                Array<T> added = splice.added;
+
+                for (int i = 0; i < splice.removedCount; i++) {
+                    remove(splice.index);
+                }
+
+                for (int i = 0; i < splice.addedCount; i++) {
+                    add(splice.index + i, added.getAt(i));
+                }
+            } else {
+                remove(change.index);
+                add(change.index, change.newValue);
+            }
+            sourceChanged();
+        });
+    }
+
+    private void add(int index, T value) {
+        Item<T, V> item = new Item<>(value);
+
+        item.reaction = new Reaction(name + ".item", () -> update(item));
+        evaluate(item);
+        item.node = items.insertAt(index, item, 0);
+        added(item);
+    }
+
+    private void remove(int index) {
+        Item<T, V> item = items.get(index).value;
+
+        removed(item);
+        items.remove(item.node);
+        item.reaction.dispose();
+    }
+
+    private void update(Item<T, V> item) {
+        if (item.reaction.isDisposed) {
+            return;
+        }
+
+        V oldValue = item.value;
+
+        evaluate(item);
+        if (!Objects.equals(oldValue, item.value)) {
+            changed(item, oldValue);
+        }
+    }
+
+    private void evaluate(Item<T, V> item) {
+        item.reaction.track(() -> item.value = fn.apply(item.item));
+    }
+
+    /**
+     * An entry of the array and its current value
+     */
+    static final class Item<T, V> {
+        final T item;
+        V value;
+        Reaction reaction;
+        IndexedTree.Node<Item<T, V>> node;
+
+        //The position of the entry in a derived order, used by sorted arrays
+        IndexedTree.Node<Item<T, V>> order;
+
+        Item(T item) {
+            this.item = item;
+        }
+    }
+
+    interface ItemFn<T, V> {
+        V apply(T item);
+    }
+}
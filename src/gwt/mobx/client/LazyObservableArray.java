@@ -0,0 +1,273 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.Atom;
+import gwt.mobx.client.MobX.ObservableIntValue;
+import gwt.mobx.client.MobX.Scheduler;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A read-only observable array whose items are loaded a page at a time from an asynchronous
+ * source. It provides the read contract of an ObservableArray (getLength, getAt and peek), but
+ * only materialises a page when a reaction, such as the render of an observer component, reads
+ * one of its items. Until then getAt returns null and isLoading reports the page as loading.
+ *
+ * <p>If a page fails to load, isFailed reports it as failed and the reactions reading it run
+ * again. A failed page isn't loaded again until retry is called, or until it is read again after
+ * no reaction observed it.</p>
+ *
+ * <p>At most maxResidentPages loaded pages are held in memory. When the limit is exceeded the
+ * least recently read pages that are no longer observed by any reaction are discarded, and are
+ * loaded again if they are read later. This makes it possible to scroll through very large data
+ * sets while only holding the visible part in memory.</p>
+ *
+ * @param <T> The type of Array element
+ */
+public class LazyObservableArray<T> {
+    private final int pageSize;
+    private final int maxResidentPages;
+    private final PageLoader<T> loader;
+    private final Scheduler scheduler;
+    private final ObservableIntValue length;
+    private final Map<Integer, Page> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private int residentPages;
+
+    /**
+     * Creates a new LazyObservableArray
+     *
+     * @param length The total number of items
+     * @param pageSize The number of items loaded at a time
+     * @param maxResidentPages The maximum number of loaded pages to keep in memory
+     * @param loader Loads the items of a page
+     */
+    public LazyObservableArray(int length, int pageSize, int maxResidentPages, PageLoader<T> loader) {
+        this(length, pageSize, maxResidentPages, loader, Schedulers.microtask());
+    }
+
+    /**
+     * Creates a new LazyObservableArray that uses the supplied scheduler to start loading pages.
+     * Reactions must not change state while they run, so the scheduler must defer loading until
+     * the reaction reading the page has completed.
+     *
+     * @param length The total number of items
+     * @param pageSize The number of items loaded at a time
+     * @param maxResidentPages The maximum number of loaded pages to keep in memory
+     * @param loader Loads the items of a page
+     * @param scheduler Decides when the loader is called
+     */
+    public LazyObservableArray(int length, int pageSize, int maxResidentPages, PageLoader<T> loader, Scheduler scheduler) {
+        this.length = MobX.observableValue(length);
+        this.pageSize = pageSize;
+        this.maxResidentPages = maxResidentPages;
+        this.loader = loader;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return The total number of items, whether loaded or not
+     */
+    public int getLength() {
+        return length.get();
+    }
+
+    /**
+     * Changes the total number of items, for example after the server reports a new count.
+     * Pages that are already loaded are kept.
+     *
+     * @param length The new total number of items
+     */
+    public void setLength(int length) {
+        this.length.set(length);
+    }
+
+    /**
+     * Returns the item at the given index. If the page containing the item is not loaded yet,
+     * null is returned and, if this is called from a reaction, loading of the page is started.
+     * The reaction will run again once the page has loaded.
+     *
+     * @param index The index of the item
+     * @return The item, or null if its page is not loaded
+     */
+    public T getAt(int index) {
+        Page page = observePage(index / pageSize);
+
+        return page.items == null ? null : page.items.getAt(index % pageSize);
+    }
+
+    /**
+     * Returns whether the page containing the given index is still loading. Like getAt, calling
+     * this from a reaction starts loading the page.
+     *
+     * @param index The index of an item
+     * @return true if the item is not available yet
+     */
+    public boolean isLoading(int index) {
+        Page page = observePage(index / pageSize);
+
+        return page.items == null && !page.failed;
+    }
+
+    /**
+     * Returns whether loading the page containing the given index failed. Like getAt, calling
+     * this from a reaction starts loading the page.
+     *
+     * @param index The index of an item
+     * @return true if the item's page failed to load
+     */
+    public boolean isFailed(int index) {
+        return observePage(index / pageSize).failed;
+    }
+
+    /**
+     * Loads the page containing the given index again if it failed to load. The reactions reading
+     * the page run again and see it as loading.
+     *
+     * @param index The index of an item
+     */
+    public void retry(int index) {
+        Page page = pages.get(index / pageSize);
+
+        if (page != null && page.failed) {
+            page.failed = false;
+            page.atom.reportChanged();
+        }
+    }
+
+    /**
+     * Returns a sparse array with all the items that are currently loaded, and holes for those
+     * that aren't. This neither loads any pages nor is it reactive.
+     *
+     * @return A new array the length of this array
+     */
+    public Array<T> peek() {
+        Array<T> result = JsArray.create();
+        int len = MobX.untracked(length::get);
+
+        result.setLength(len);
+        for (Page page : pages.values()) {
+            if (page.items != null) {
+                int start = page.index * pageSize;
+
+                for (int i = 0; i < page.items.getLength() && start + i < len; i++) {
+                    result.setAt(start + i, page.items.getAt(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The number of pages currently held in memory
+     */
+    public int getResidentPages() {
+        return residentPages;
+    }
+
+    private Page observePage(int pageIndex) {
+        Page page = pages.get(pageIndex);
+
+        if (page == null) {
+            page = new Page(pageIndex);
+            pages.put(pageIndex, page);
+        }
+
+        if (page.atom.reportObserved() && page.items == null && !page.loading && !page.failed) {
+            load(page);
+        }
+        return page;
+    }
+
+    private void load(Page page) {
+        page.loading = true;
+
+        scheduler.schedule(() -> loader.load(page.index * pageSize, pageSize, new PageCallback<T>() {
+            @Override
+            public void loaded(Array<T> items) {
+                page.loading = false;
+                page.items = items;
+                residentPages++;
+                page.atom.reportChanged();
+                evictPages();
+            }
+
+            @Override
+            public void failed() {
+                page.loading = false;
+                page.failed = true;
+                page.atom.reportChanged();
+            }
+        }));
+    }
+
+    private void evictPages() {
+        //Pages are ordered from least to most recently read
+        Iterator<Page> it = pages.values().iterator();
+
+        while (residentPages > maxResidentPages && it.hasNext()) {
+            Page page = it.next();
+
+            if (page.items != null && !page.observed) {
+                page.items = null;
+                residentPages--;
+                it.remove();
+            }
+        }
+    }
+
+    private class Page {
+        final int index;
+        final Atom atom;
+        Array<T> items;
+        boolean loading;
+        boolean failed;
+        boolean observed;
+
+        Page(int index) {
+            this.index = index;
+            this.atom = new Atom("LazyObservableArray.page[" + index + "]", () -> observed = true, this::onBecomeUnobserved);
+        }
+
+        void onBecomeUnobserved() {
+            observed = false;
+
+            if (items == null && !loading) {
+                //Nothing to keep for a page that was read but never loaded, or failed to load
+                pages.remove(index);
+            } else {
+                evictPages();
+            }
+        }
+    }
+
+    /**
+     * Loads the items of a page
+     *
+     * @param <T> The type of Array element
+     */
+    public interface PageLoader<T> {
+        /**
+         * Starts loading a range of items. The callback must be called once, when the items
+         * have been loaded or loading failed.
+         *
+         * @param offset The index of the first item to load
+         * @param count The number of items to load. The last page may contain fewer items
+         * @param callback The callback to report the loaded items to
+         */
+        void load(int offset, int count, PageCallback<T> callback);
+    }
+
+    /**
+     * Receives the result of a PageLoader
+     *
+     * @param <T> The type of Array element
+     */
+    public interface PageCallback<T> {
+        void loaded(Array<T> items);
+
+        void failed();
+    }
+}
@@ -7,6 +7,7 @@ import gwt.interop.utils.shared.collections.Array;
 import gwt.interop.utils.client.plainobjects.JsPlainObj;
 import jsinterop.annotations.JsFunction;
 import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsOverlay;
 import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsType;
 
@@ -57,6 +58,67 @@ public class MobX {
      */
     public static native <T> ObservableArray<T> observable(Array<T> array);
 
+    /**
+     * Makes the supplied Object Literal observable using the given options. With deep set to
+     * false the properties of the object are observable, but their values are stored as is, so
+     * nested objects and arrays are not converted.
+     *
+     * @param jsPlainObj The object to make observable
+     * @param options The options controlling the conversion
+     * @param <O> A subclass of JsPlainObj
+     * @return An augmented version of the supplied object that will update any views that depend
+     *         on it.
+     */
+    @JsOverlay
+    @SuppressWarnings("unchecked")
+    public static <O extends JsPlainObj> O observable(O jsPlainObj, ObservableOptions options) {
+        return (O)ValueModifiers.observableModified(options.modify(jsPlainObj));
+    }
+
+    /**
+     * Makes an Array observable using the given options. With deep set to false the array
+     * itself is observable, but its items are stored as is.
+     *
+     * @param array The javascript array to make observable.
+     * @param options The options controlling the conversion
+     * @param <T> The type of object the array contains
+     * @return An ObservableArray wrapper.
+     */
+    @JsOverlay
+    @SuppressWarnings("unchecked")
+    public static <T> ObservableArray<T> observable(Array<T> array, ObservableOptions options) {
+        return (ObservableArray<T>)ValueModifiers.observableModified(options.modify(array));
+    }
+
+    /**
+     * Makes an Array observable without converting its items. Changes to the array are
+     * observable, but the items are stored by reference, so large immutable payloads are not
+     * wrapped by MobX. This uses the MobX asFlat modifier
+     *
+     * @param array The javascript array to make observable.
+     * @param <T> The type of object the array contains
+     * @return An ObservableArray wrapper.
+     */
+    @JsOverlay
+    public static <T> ObservableArray<T> observableShallow(Array<T> array) {
+        return observable(array, new ObservableOptions().deep(false));
+    }
+
+    /**
+     * Creates an observable value that stores the supplied value by reference. Unlike
+     * observableValue, objects and arrays are never converted, so only assigning a new value
+     * is observable. This uses the MobX asReference modifier
+     *
+     * @param value The initial value
+     * @param <T> The type of the value
+     * @return An ObservableValue
+     */
+    @JsOverlay
+    @SuppressWarnings("unchecked")
+    public static <T> ObservableValue<T> observableRef(T value) {
+        return (ObservableValue<T>)ValueModifiers.observableModified(ValueModifiers.asReference(value));
+    }
+
     /**
      * Creates an observable int value
      *
@@ -66,6 +128,32 @@ public class MobX {
     @JsMethod(name = "observable")
     public static native ObservableIntValue observableValue(int value);
 
+    /**
+     * Creates an observable double value. The value is held as a plain javascript number, so
+     * unlike an ObservableValue&lt;Double&gt; no boxing occurs on get or set.
+     *
+     * <p>This isn't an observableValue overload, as that would change the type returned by
+     * existing calls such as {@code observableValue(10.0)} from ObservableValue&lt;Double&gt;.</p>
+     *
+     * @param value The initial value
+     * @return A ObservableDoubleValue
+     */
+    @JsMethod(name = "observable")
+    public static native ObservableDoubleValue observableDoubleValue(double value);
+
+    /**
+     * Creates an observable boolean value. The value is held as a plain javascript boolean, so
+     * unlike an ObservableValue&lt;Boolean&gt; no boxing occurs on get or set.
+     *
+     * <p>This isn't an observableValue overload, as that would change the type returned by
+     * existing calls such as {@code observableValue(true)} from ObservableValue&lt;Boolean&gt;.</p>
+     *
+     * @param value The initial value
+     * @return A ObservableBooleanValue
+     */
+    @JsMethod(name = "observable")
+    public static native ObservableBooleanValue observableBooleanValue(boolean value);
+
     /**
      * Creates an observable value
      *
@@ -90,6 +178,44 @@ public class MobX {
      */
     public static native ComputedIntValue computed(ComputedIntExpression exprFn);
 
+    /**
+     * Use computed if you want to reactively produce a new value that can be used by other
+     * observers and autorun if you don't want to produce a new value but rather invoke some
+     * imperative code like logging, network requests etc.
+     *
+     * <p>Computed properties can be optimized away in many cases by MobX as they are assumed
+     * to be pure. So they will not be invoked when their input parameters didn't modifiy or
+     * if they are not observed by some other computed value or autorun.</p>
+     *
+     * <p>An untyped lambda returning a double, such as {@code () -> price.get() * 1.2}, matches both
+     * this overload and computed(ComputedExpression), so the compiler reports the call as
+     * ambiguous. Cast the lambda to ComputedDoubleExpression to select this overload, or to
+     * ComputedExpression to get a boxed ComputedValue as before this overload existed.</p>
+     *
+     * @param exprFn A function returning the ComputedDoubleValue
+     * @return A ComputedDoubleValue
+     */
+    public static native ComputedDoubleValue computed(ComputedDoubleExpression exprFn);
+
+    /**
+     * Use computed if you want to reactively produce a new value that can be used by other
+     * observers and autorun if you don't want to produce a new value but rather invoke some
+     * imperative code like logging, network requests etc.
+     *
+     * <p>Computed properties can be optimized away in many cases by MobX as they are assumed
+     * to be pure. So they will not be invoked when their input parameters didn't modifiy or
+     * if they are not observed by some other computed value or autorun.</p>
+     *
+     * <p>An untyped lambda returning a boolean, such as {@code () -> !done.get()}, matches both
+     * this overload and computed(ComputedExpression), so the compiler reports the call as
+     * ambiguous. Cast the lambda to ComputedBooleanExpression to select this overload, or to
+     * ComputedExpression to get a boxed ComputedValue as before this overload existed.</p>
+     *
+     * @param exprFn A function returning the ComputedBooleanValue
+     * @return A ComputedBooleanValue
+     */
+    public static native ComputedBooleanValue computed(ComputedBooleanExpression exprFn);
+
     /**
      * Use computed if you want to reactively produce a new value that can be used by other
      * observers and autorun if you don't want to produce a new value but rather invoke some
@@ -106,6 +232,21 @@ public class MobX {
      */
     public static native <T, T2 extends T> ComputedValue<T2> computed(ComputedExpression<T> exprFn);
 
+    /**
+     * Creates a computed value that uses the supplied options to decide whether a newly computed
+     * value differs from the previous one. Observers are only notified when the value changed
+     * according to the options.
+     *
+     * @param exprFn A function returning the ComputedValue
+     * @param options The ComputedOptions specifying how values are compared
+     * @param <T> The type of object returned by exprFn
+     * @return A ComputedValue
+     */
+    @JsOverlay
+    public static <T> ComputedValue<T> computed(ComputedExpression<T> exprFn, ComputedOptions<? super T> options) {
+        return options.createComputed(exprFn);
+    }
+
     /**
      * autorun can be used in those cases where you want to create a reactive function that will
      * never have observers itself. This is usually the case when you need to bridge from reactive
@@ -139,6 +280,60 @@ public class MobX {
      */
     public static native DisposerFunction autorunAsync(JsProcedure view, int minimumDelay); //scope???
 
+    /**
+     * A variation on autorun that gives more fine grained control over which observables will be
+     * tracked. It takes two functions: the first one (the expression) is tracked and returns
+     * data that is used as input for the second one, the effect. Unlike autorun the effect
+     * won't be run directly when created, but only after the data expression returns a new
+     * value for the first time. Any observables that are accessed while executing the effect
+     * will not be tracked.
+     *
+     * @param expression The tracked expression producing the input for the effect
+     * @param effect The effect to run when the expression returns a new value
+     * @param <T> The type of value returned by the expression
+     * @return A DisposerFunction to cancel the reaction
+     */
+    public static native <T> DisposerFunction reaction(ComputedExpression<T> expression, ReactionEffect<T> effect);
+
+    /**
+     * A variation on autorun that gives more fine grained control over which observables will be
+     * tracked. It takes two functions: the first one (the expression) is tracked and returns
+     * data that is used as input for the second one, the effect. Any observables that are
+     * accessed while executing the effect will not be tracked.
+     *
+     * @param expression The tracked expression producing the input for the effect
+     * @param effect The effect to run when the expression returns a new value
+     * @param fireImmediately If true, the effect is also run directly after the expression is
+     *                        evaluated for the first time
+     * @param <T> The type of value returned by the expression
+     * @return A DisposerFunction to cancel the reaction
+     */
+    public static native <T> DisposerFunction reaction(ComputedExpression<T> expression, ReactionEffect<T> effect, boolean fireImmediately);
+
+    /**
+     * A variation on autorun that gives more fine grained control over which observables will be
+     * tracked. It takes two functions: the first one (the expression) is tracked and returns
+     * data that is used as input for the second one, the effect. Any observables that are
+     * accessed while executing the effect will not be tracked.
+     *
+     * <p>The supplied options can specify a Scheduler, which decides when the reaction re-runs
+     * after one of its dependencies has changed. All changes that happen before the scheduler
+     * runs the reaction result in a single evaluation of the expression, so for example
+     * Schedulers.animationFrame() will run the effect at most once per frame. The first
+     * evaluation of the expression always happens synchronously. The effect is run in an
+     * action.</p>
+     *
+     * @param expression The tracked expression producing the input for the effect
+     * @param effect The effect to run when the expression returns a new value
+     * @param options The ReactionOptions to use
+     * @param <T> The type of value returned by the expression
+     * @return A DisposerFunction to cancel the reaction
+     */
+    @JsOverlay
+    public static <T> DisposerFunction reaction(ComputedExpression<T> expression, ReactionEffect<T> effect, ReactionOptions options) {
+        return new ScheduledReaction<>(expression, effect, options).getDisposer();
+    }
+
     /**
      * creates a dynamic keyed observable map. Optionally takes an object or entries array with
      * initially values. Only string values are accepted as keys
@@ -147,6 +342,26 @@ public class MobX {
      */
     public static native <T> ObservableMap<T> map();
 
+    /**
+     * creates a dynamic keyed observable map that stores its values by reference. Adding,
+     * replacing and deleting entries is observable, but the values themselves are not converted.
+     *
+     * @return An ObservableMap
+     */
+    @JsOverlay
+    public static <T> ObservableMap<T> observableShallowMap() {
+        return ValueModifiers.map(null, ValueModifiers.asReferenceModifier());
+    }
+
+    /**
+     * creates a dynamic keyed observable map that takes int keys. The keys are passed to MobX as
+     * numbers, avoiding the conversion to a Java String on each access.
+     *
+     * @return An ObservableIntMap
+     */
+    @JsMethod(name = "map")
+    public static native <T> ObservableIntMap<T> intMap();
+
     /**
      * when observes and runs the given predicate until it returns true. Once that happens, the
      * given effect is executed and the autorunner is disposed. The function returns a
@@ -171,6 +386,53 @@ public class MobX {
      */
     public static native void transaction(JsProcedure worker);
 
+    /**
+     * Adds each property of props to target as an observable property, initialised with the
+     * value of the property in props. Values are converted in the same way as by observable,
+     * unless they are wrapped in a modifier such as asReference. target can be any object,
+     * including an instance of a Java class, so this is how the classes generated by the
+     * ObservableProcessor make their fields observable.
+     *
+     * @param target The object to add the properties to
+     * @param props A plain object holding the properties to add
+     * @param <T> The type of target
+     * @return target
+     */
+    public static native <T> T extendObservable(T target, Object props);
+
+    /**
+     * Adds the properties described by descriptor to target as observable properties,
+     * initialised with the values of the properties of the same name in values. All the
+     * properties are added with a single call to extendObservable.
+     *
+     * @param target The object to add the properties to
+     * @param descriptor Describes the properties to add
+     * @param values A plain object holding the initial values of the properties
+     * @param <T> The type of target
+     * @return target
+     */
+    @JsOverlay
+    public static <T> T extendObservable(T target, PropertyDescriptor<? super T> descriptor, Object values) {
+        return extendObservable(target, descriptor.toProps(target, values));
+    }
+
+    /**
+     * Makes the existing properties of target described by descriptor observable, keeping
+     * their current values, and adds the computed properties it describes. Properties that
+     * aren't described are left as they are. This is a cheaper alternative to observable
+     * for objects such as entities decoded from JSON, where only some properties change
+     * or need deep conversion.
+     *
+     * @param target The object whose properties are made observable
+     * @param descriptor Describes the properties to make observable
+     * @param <T> The type of target
+     * @return target
+     */
+    @JsOverlay
+    public static <T> T decorate(T target, PropertyDescriptor<? super T> descriptor) {
+        return extendObservable(target, descriptor.toProps(target, target));
+    }
+
     /**
      * Recursively converts an ObservableArray object to a JSON structure. Supports observable
      * arrays, objects, maps and primitives. Computed values and other non-enumerable
@@ -215,8 +477,63 @@ public class MobX {
     public static native boolean isObservable(Object o);
     public static native boolean isObservable(Object o, String property);
     public static native <T> T expr(JsProcedure expr);
+
+    /**
+     * Returns true if the supplied value is an observable array
+     *
+     * @param o The value to test
+     * @return true if o is an ObservableArray
+     */
+    public static native boolean isObservableArray(Object o);
+
+    /**
+     * Returns true if the supplied value is an observable map
+     *
+     * @param o The value to test
+     * @return true if o is an ObservableMap
+     */
+    public static native boolean isObservableMap(Object o);
+
+    /**
+     * Returns true if the supplied value is an object with observable properties, created by
+     * observable or extendObservable
+     *
+     * @param o The value to test
+     * @return true if o is an observable object
+     */
+    public static native boolean isObservableObject(Object o);
+
+    /**
+     * Wraps a value so that MobX stores it by reference, without converting it. The result must
+     * only be passed directly to MobX, for example to observableValue, as it is a wrapper
+     * object rather than a T. Prefer the typed observableRef.
+     *
+     * @param obj The value to wrap
+     * @param <T> The type of the value
+     * @return The wrapped value
+     */
     public static native <T> T asReference(T obj);
+
+    /**
+     * Wraps a value so that MobX compares it structurally, rather than by reference, when it
+     * is assigned. The result must only be passed directly to MobX. Prefer
+     * ComputedOptions.structural for computed values.
+     *
+     * @param obj The value to wrap
+     * @param <T> The type of the value
+     * @return The wrapped value
+     */
     public static native <T> T asStructure(T obj);
+
+    /**
+     * Wraps an object or array so that MobX only makes its top level observable. The result
+     * must only be passed directly to MobX. Prefer the typed observableShallow or observable
+     * with ObservableOptions.
+     *
+     * @param obj The object or array to wrap
+     * @param <T> The type of the value
+     * @return The wrapped value
+     */
     public static native <T> T asFlat(T obj);
 
     /**
@@ -242,12 +559,105 @@ public class MobX {
      */
     public static native void runInAction(String name, JsProcedure block);
 
+    /**
+     * Runs the supplied function without establishing observers, so a reaction or computed value
+     * calling this doesn't depend on the observables it reads.
+     *
+     * @param fn The function to run
+     * @return The value returned by fn
+     */
+    public static native int untracked(ComputedIntExpression fn);
+
+    /**
+     * Runs the supplied function without establishing observers, so a reaction or computed value
+     * calling this doesn't depend on the observables it reads.
+     *
+     * @param fn The function to run
+     * @param <T> The type of object returned by fn
+     * @return The value returned by fn
+     */
+    public static native <T> T untracked(ComputedExpression<T> fn);
+
 
     public static native void whyRun();
     public static native void whyRun(ComputedIntValue computed);
+    public static native void whyRun(ComputedDoubleValue computed);
+    public static native void whyRun(ComputedBooleanValue computed);
     public static native void whyRun(ComputedValue<?> computed);
     public static native void whyRun(Object obj, String property);
 
+    /**
+     * An Atom can be used to signal MobX that some observable data source has been observed or
+     * changed. This makes it possible to build custom observable data structures whose state
+     * is held outside of MobX.
+     */
+    @JsType(isNative = true, namespace = "MobX", name = "Atom")
+    public static class Atom {
+        /**
+         * Creates a new Atom
+         *
+         * @param name The debug name of the atom
+         * @param onBecomeObserved Called when the atom starts being observed
+         * @param onBecomeUnobserved Called when the atom is no longer observed
+         */
+        public Atom(String name, JsProcedure onBecomeObserved, JsProcedure onBecomeUnobserved) {
+        }
+
+        /**
+         * Reports to MobX that the data source represented by this atom has been read
+         *
+         * @return True if the atom is being observed by a running derivation
+         */
+        public native boolean reportObserved();
+
+        /**
+         * Reports to MobX that the data source represented by this atom has changed
+         */
+        public native void reportChanged();
+    }
+
+    /**
+     * The MobX Reaction class. A reaction tracks the observables accessed by the function
+     * passed to track and calls onInvalidate when any of them changes. The reaction will not
+     * track anything again until track is called.
+     */
+    @JsType(isNative = true, namespace = "MobX", name = "Reaction")
+    public static class Reaction {
+        public String name;
+        public boolean isDisposed;
+
+        /**
+         * Creates a new Reaction
+         *
+         * @param name The debug name of the reaction
+         * @param onInvalidate Called when one of the tracked observables changes
+         */
+        public Reaction(String name, JsProcedure onInvalidate) {
+        }
+
+        /**
+         * Runs the supplied function and tracks all the observables it accesses
+         *
+         * @param fn The function to track
+         */
+        public native void track(JsProcedure fn);
+
+        /**
+         * Schedules the reaction to run, which will call onInvalidate if the reaction is stale
+         */
+        public native void schedule();
+
+        /**
+         * Stops the reaction from tracking any observables
+         */
+        public native void dispose();
+
+        /**
+         * @return A DisposerFunction that disposes the reaction
+         */
+        public native DisposerFunction getDisposer();
+    }
+
     /**
      * An observable int value
      */
@@ -277,6 +687,86 @@ public class MobX {
         DisposerFunction observe(ObserveIntCallBack callback);
     }
 
+    /**
+     * An observable double value
+     */
+    @JsType(isNative=true, namespace = JsPackage.GLOBAL, name="ObservableValue")
+    public interface ObservableDoubleValue {
+        /**
+         * Access the double value
+         *
+         * @return The value as a java double
+         */
+        double get();
+
+        /**
+         * Set the value of the observable double.
+         *
+         * @param value The value to set
+         */
+        void set(double value);
+
+        /**
+         * Registers an observer function that will fire each time the stored value is replaced.
+         * Returns a function to cancel the observer
+         *
+         * @param callback The ObserveDoubleCallBack to call when the value changes
+         * @return A DisposerFunction to cancel the observer
+         */
+        DisposerFunction observe(ObserveDoubleCallBack callback);
+
+        /**
+         * Registers an observer function that will fire each time the stored value is replaced.
+         * Returns a function to cancel the observer
+         *
+         * @param callback The ObserveDoubleCallBack to call when the value changes
+         * @param fireImmediately If true, the supplied callback will be called immediately after
+         *                          this method is called.
+         * @return A DisposerFunction to cancel the observer
+         */
+        DisposerFunction observe(ObserveDoubleCallBack callback, boolean fireImmediately);
+    }
+
+    /**
+     * An observable boolean value
+     */
+    @JsType(isNative=true, namespace = JsPackage.GLOBAL, name="ObservableValue")
+    public interface ObservableBooleanValue {
+        /**
+         * Access the boolean value
+         *
+         * @return The value as a java boolean
+         */
+        boolean get();
+
+        /**
+         * Set the value of the observable boolean.
+         *
+         * @param value The value to set
+         */
+        void set(boolean value);
+
+        /**
+         * Registers an observer function that will fire each time the stored value is replaced.
+         * Returns a function to cancel the observer
+         *
+         * @param callback The ObserveBooleanCallBack to call when the value changes
+         * @return A DisposerFunction to cancel the observer
+         */
+        DisposerFunction observe(ObserveBooleanCallBack callback);
+
+        /**
+         * Registers an observer function that will fire each time the stored value is replaced.
+         * Returns a function to cancel the observer
+         *
+         * @param callback The ObserveBooleanCallBack to call when the value changes
+         * @param fireImmediately If true, the supplied callback will be called immediately after
+         *                          this method is called.
+         * @return A DisposerFunction to cancel the observer
+         */
+        DisposerFunction observe(ObserveBooleanCallBack callback, boolean fireImmediately);
+    }
+
     /**
      * An observable value
      */
@@ -335,6 +825,42 @@ public class MobX {
         DisposerFunction observe(ObserveIntCallBack callback, boolean fireImmediately);
     }
 
+    /**
+     * A computed double value
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name="ComputedValue")
+    public interface ComputedDoubleValue {
+        double get();
+
+        /**
+         * Registers an observer function that will fire each time the computed value changes.
+         * Returns a function to cancel the observer
+         *
+         * @param callback The ObserveDoubleCallBack to call when the value changes
+         * @param fireImmediately If true, the callback will fire immediatley observe is called
+         * @return A DisposerFunction to cancel the observer
+         */
+        DisposerFunction observe(ObserveDoubleCallBack callback, boolean fireImmediately);
+    }
+
+    /**
+     * A computed boolean value
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name="ComputedValue")
+    public interface ComputedBooleanValue {
+        boolean get();
+
+        /**
+         * Registers an observer function that will fire each time the computed value changes.
+         * Returns a function to cancel the observer
+         *
+         * @param callback The ObserveBooleanCallBack to call when the value changes
+         * @param fireImmediately If true, the callback will fire immediatley observe is called
+         * @return A DisposerFunction to cancel the observer
+         */
+        DisposerFunction observe(ObserveBooleanCallBack callback, boolean fireImmediately);
+    }
+
     /**
      * A computed value
      */
@@ -363,6 +889,30 @@ public class MobX {
         int compute();
     }
 
+    @JsFunction
+    public interface ComputedDoubleExpression {
+        double compute();
+    }
+
+    @JsFunction
+    public interface ComputedBooleanExpression {
+        boolean compute();
+    }
+
+    @JsFunction
+    public interface ReactionEffect<T> {
+        void run(T value);
+    }
+
+    /**
+     * Decides when a scheduled reaction runs. The scheduler is given the function that runs the
+     * reaction and must call it exactly once, either synchronously or at a later time.
+     */
+    @JsFunction
+    public interface Scheduler {
+        void schedule(JsProcedure run);
+    }
+
     @JsFunction
     public interface DisposerFunction {
         void dispose();
@@ -377,4 +927,14 @@ public class MobX {
     public interface ObserveIntCallBack {
         void onChange(int newValue, int oldValue);
     }
+
+    @JsFunction
+    public interface ObserveDoubleCallBack {
+        void onChange(double newValue, double oldValue);
+    }
+
+    @JsFunction
+    public interface ObserveBooleanCallBack {
+        void onChange(boolean newValue, boolean oldValue);
+    }
 }
@@ -0,0 +1,100 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * Bindings for the introspection utilities in MobX.extras. These expose the dependency graph
+ * MobX maintains between observables and the derivations (computed values and reactions)
+ * that use them.
+ *
+ * <p>The "thing" passed to these methods can be an observable value, computed value, observable
+ * array, observable map or the disposer returned by autorun. Use the overloads taking a property
+ * to address a single property of an observable object or a single entry of an observable
+ * map.</p>
+ */
+@JsType(isNative = true, namespace = "MobX", name = "extras")
+public class MobXExtras {
+
+    /**
+     * Returns a tree of everything the supplied derivation depends on
+     *
+     * @param thing The computed value or reaction to inspect
+     * @return The dependencies of thing. Observables have no dependencies
+     */
+    public static native DependencyTree getDependencyTree(Object thing);
+    public static native DependencyTree getDependencyTree(Object thing, String property);
+
+    /**
+     * Returns a tree of all the derivations observing the supplied observable
+     *
+     * @param thing The observable or computed value to inspect
+     * @return The observers of thing
+     */
+    public static native ObserverTree getObserverTree(Object thing);
+    public static native ObserverTree getObserverTree(Object thing, String property);
+
+    /**
+     * Returns the node MobX uses to track the supplied thing in its dependency graph
+     *
+     * @param thing The observable, computed value or reaction to look up
+     * @return The node. Throws an error if thing isn't known to MobX
+     */
+    public static native DerivationNode getAtom(Object thing);
+    public static native DerivationNode getAtom(Object thing, String property);
+
+    /**
+     * Returns the debug name MobX generated, or was given, for the supplied thing
+     *
+     * @param thing The observable, computed value or reaction
+     * @return The name
+     */
+    public static native String getDebugName(Object thing);
+    public static native String getDebugName(Object thing, String property);
+
+    /**
+     * A node of the tree returned by getDependencyTree
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class DependencyTree {
+        public String name;
+
+        /**
+         * The direct dependencies of the node, or null if it has none
+         */
+        public Array<DependencyTree> dependencies;
+    }
+
+    /**
+     * A node of the tree returned by getObserverTree
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class ObserverTree {
+        public String name;
+
+        /**
+         * The direct observers of the node, or null if it has none
+         */
+        public Array<ObserverTree> observers;
+    }
+
+    /**
+     * An atom, computed value or reaction in the MobX dependency graph. Atoms only have
+     * observers, reactions only have observing and computed values have both
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class DerivationNode {
+        public String name;
+
+        /**
+         * The nodes this node depends on, or undefined if this node isn't a derivation
+         */
+        public Array<DerivationNode> observing;
+
+        /**
+         * The nodes observing this node, or undefined if this node can't be observed
+         */
+        public Array<DerivationNode> observers;
+    }
+}
@@ -0,0 +1,302 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.Atom;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobX.Reaction;
+import gwt.mobx.client.MobXPatches.Patch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo and redo for an observable tree. Each action, or each change made outside of an action,
+ * that modifies the arrays, maps and objects below the root is recorded as one history entry
+ * holding the patches it made and the inverse patches that undo them. Only the changes are
+ * kept, so the history takes a fraction of the memory of keeping a toJSON copy of the state
+ * per entry.
+ *
+ * <p>The estimated size of the entries is kept within a memory budget by discarding the oldest
+ * entries. Consecutive runs of an action with the same name can be coalesced into a single
+ * entry, so that for example typing into a field is undone in one step.</p>
+ *
+ * <p>canUndo, canRedo and the entry names are observable, so they can be used to render
+ * undo and redo buttons. The action names are obtained with a MobX spy listener, which slows
+ * MobX down a little while the history is in use. Call dispose when the history is no longer
+ * needed.</p>
+ */
+public class MobXHistory {
+    //The name MobX gives to actions run without a name, for example by runInAction(block)
+    private static final String UNNAMED_ACTION = "<unnamed action>";
+
+    private final Object root;
+    private final int memoryBudget;
+    private final boolean coalesce;
+    private final PatchRecorder recorder;
+    private final Reaction flusher;
+    private final DisposerFunction spyDisposer;
+    private final Atom atom = new Atom("MobXHistory", () -> {}, () -> {});
+    private final List<Entry> undoEntries = new ArrayList<>();
+    private final List<Entry> redoEntries = new ArrayList<>();
+
+    //The names of the open groups of spy events, null for those that aren't actions
+    private final List<String> spyGroups = new ArrayList<>();
+    private String runningAction;
+    private int runningActionDepth;
+
+    private String pendingName;
+    private Entry coalesceTarget;
+    private boolean applying;
+    private int size;
+
+    /**
+     * Creates a MobXHistory recording the changes below root
+     *
+     * @param root The observable array, map or object to record
+     * @param memoryBudget The maximum estimated size of the entries in bytes. The most recent
+     *                     entry is always kept
+     * @param coalesce True to merge consecutive actions with the same name into one entry
+     */
+    public MobXHistory(Object root, int memoryBudget, boolean coalesce) {
+        this.root = root;
+        this.memoryBudget = memoryBudget;
+        this.coalesce = coalesce;
+
+        //The flusher never tracks anything, so scheduling it always runs it, once the current
+        //transaction has ended
+        this.flusher = new Reaction("MobXHistory.flush", this::flush);
+        this.recorder = new PatchRecorder(root, true, this::startEntry);
+        this.spyDisposer = MobXSpy.spy(this::onSpyEvent);
+    }
+
+    /**
+     * @return True if there is an entry to undo
+     */
+    public boolean canUndo() {
+        atom.reportObserved();
+        return !undoEntries.isEmpty();
+    }
+
+    /**
+     * @return True if there is an entry to redo
+     */
+    public boolean canRedo() {
+        atom.reportObserved();
+        return !redoEntries.isEmpty();
+    }
+
+    /**
+     * @return The name of the action undo will revert, or null if there is none or it wasn't
+     *         made by a named action
+     */
+    public String getUndoName() {
+        atom.reportObserved();
+        return undoEntries.isEmpty() ? null : last(undoEntries).name;
+    }
+
+    /**
+     * @return The name of the action redo will repeat, or null if there is none or it wasn't
+     *         made by a named action
+     */
+    public String getRedoName() {
+        atom.reportObserved();
+        return redoEntries.isEmpty() ? null : last(redoEntries).name;
+    }
+
+    /**
+     * @return The estimated size of all the entries in bytes
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Reverts the most recent entry as a single action, if there is one
+     */
+    public void undo() {
+        flush();
+        if (undoEntries.isEmpty()) {
+            return;
+        }
+
+        Entry entry = last(undoEntries);
+
+        //The entry is only moved once it has been applied, so it isn't lost if applying throws
+        apply("MobXHistory.undo", entry.inverse);
+        undoEntries.remove(undoEntries.size() - 1);
+        redoEntries.add(entry);
+        coalesceTarget = null;
+        atom.reportChanged();
+    }
+
+    /**
+     * Repeats the most recently undone entry as a single action, if there is one
+     */
+    public void redo() {
+        flush();
+        if (redoEntries.isEmpty()) {
+            return;
+        }
+
+        Entry entry = last(redoEntries);
+
+        apply("MobXHistory.redo", entry.patches);
+        redoEntries.remove(redoEntries.size() - 1);
+        undoEntries.add(entry);
+        coalesceTarget = null;
+        atom.reportChanged();
+    }
+
+    /**
+     * Discards all the entries
+     */
+    public void clear() {
+        flush();
+        undoEntries.clear();
+        redoEntries.clear();
+        coalesceTarget = null;
+        size = 0;
+        atom.reportChanged();
+    }
+
+    /**
+     * Stops recording. The history can't be used afterwards
+     */
+    public void dispose() {
+        spyDisposer.dispose();
+        flusher.dispose();
+        recorder.dispose();
+        undoEntries.clear();
+        redoEntries.clear();
+    }
+
+    private void apply(String name, Array<Patch> patches) {
+        applying = true;
+        try {
+            MobX.runInAction(name, () -> MobXPatches.applyPatches(root, patches));
+        } finally {
+            //The changes made by applying the patches aren't new entries
+            recorder.takePatches();
+            recorder.takeInverse();
+            applying = false;
+        }
+    }
+
+    private void startEntry() {
+        pendingName = UNNAMED_ACTION.equals(runningAction) ? null : runningAction;
+        flusher.schedule();
+    }
+
+    private void flush() {
+        if (recorder.isEmpty()) {
+            return;
+        }
+
+        Array<Patch> patches = recorder.takePatches();
+        Array<Patch> inverse = recorder.takeInverse();
+
+        if (applying) {
+            return;
+        }
+
+        int entrySize = estimateSize(patches) + estimateSize(inverse);
+        Entry target = coalesceTarget;
+
+        if (coalesce && target != null && pendingName != null && pendingName.equals(target.name)) {
+            for (int i = 0; i < patches.getLength(); i++) {
+                target.patches.push(patches.getAt(i));
+            }
+            for (int i = 0; i < target.inverse.getLength(); i++) {
+                inverse.push(target.inverse.getAt(i));
+            }
+            target.inverse = inverse;
+            target.size += entrySize;
+        } else {
+            target = new Entry(pendingName, patches, inverse, entrySize);
+            undoEntries.add(target);
+            coalesceTarget = target;
+        }
+        size += entrySize;
+
+        for (Entry entry : redoEntries) {
+            size -= entry.size;
+        }
+        redoEntries.clear();
+
+        //Evict the oldest entries, keeping at least the one just recorded
+        while (size > memoryBudget && undoEntries.size() > 1) {
+            size -= undoEntries.remove(0).size;
+        }
+        atom.reportChanged();
+    }
+
+    private void onSpyEvent(MobXSpy.SpyEvent event) {
+        if (event.spyReportStart) {
+            String name = event.is(MobXSpy.ACTION) ? event.asAction().name : null;
+
+            if (name != null && runningAction == null) {
+                runningAction = name;
+                runningActionDepth = spyGroups.size();
+            }
+            spyGroups.add(name);
+        } else if (event.spyReportEnd && !spyGroups.isEmpty()) {
+            spyGroups.remove(spyGroups.size() - 1);
+
+            if (runningAction != null && spyGroups.size() == runningActionDepth) {
+                runningAction = null;
+            }
+        }
+    }
+
+    private static Entry last(List<Entry> entries) {
+        return entries.get(entries.size() - 1);
+    }
+
+    /**
+     * Estimates the memory used by a plain JS value, such as a list of patches
+     */
+    private static int estimateSize(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 4;
+        }
+        if (value instanceof Number) {
+            return 8;
+        }
+        if (value instanceof String) {
+            return 16 + 2 * ((String)value).length();
+        }
+
+        int size = 16;
+
+        if (ObservableTree.isArray(value)) {
+            Array<?> array = (Array<?>)value;
+
+            for (int i = 0; i < array.getLength(); i++) {
+                size += 4 + estimateSize(array.getAt(i));
+            }
+        } else {
+            JsPlainObj object = (JsPlainObj)value;
+            Array<String> keys = ObservableTree.keys(value);
+
+            for (int i = 0; i < keys.getLength(); i++) {
+                size += estimateSize(keys.getAt(i)) + estimateSize(object.get(keys.getAt(i)));
+            }
+        }
+        return size;
+    }
+
+    private static final class Entry {
+        final String name;
+        final Array<Patch> patches;
+        Array<Patch> inverse;
+        int size;
+
+        Entry(String name, Array<Patch> patches, Array<Patch> inverse, int size) {
+            this.name = name;
+            this.patches = patches;
+            this.inverse = inverse;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package gwt.mobx.client;
+
+import com.google.gwt.core.client.Duration;
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobXSpy.SpyEvent;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates MobX spy events into counts and durations per named action and per reaction, and
+ * into recompute counts per computed value. Each action also records how many reactions and
+ * recomputations ran as a result of it, which identifies the actions that cause expensive
+ * reaction storms.
+ *
+ * <p>Metrics are collected from construction until {@link #dispose()} is called. Use
+ * {@link #snapshot()} to export the current figures as plain JavaScript objects, for example to
+ * send them to a telemetry endpoint.</p>
+ */
+public class MobXMetrics {
+    public static final String ACTION = MobXSpy.ACTION;
+    public static final String REACTION = MobXSpy.REACTION;
+    public static final String COMPUTE = MobXSpy.COMPUTE;
+
+    private final Map<String, Stats> actions = new HashMap<>();
+    private final Map<String, Stats> reactions = new HashMap<>();
+    private final Map<String, Stats> computeds = new HashMap<>();
+    private final List<Frame> openFrames = new ArrayList<>();
+    private final DisposerFunction disposer;
+
+    /**
+     * Creates a new MobXMetrics and starts collecting metrics
+     */
+    public MobXMetrics() {
+        disposer = MobXSpy.spy(this::onEvent);
+    }
+
+    /**
+     * Stops collecting metrics. The metrics collected so far are still available through
+     * snapshot()
+     */
+    public void dispose() {
+        disposer.dispose();
+        openFrames.clear();
+    }
+
+    /**
+     * Discards all the metrics collected so far
+     */
+    public void reset() {
+        actions.clear();
+        reactions.clear();
+        computeds.clear();
+    }
+
+    /**
+     * Exports the metrics collected so far. The returned entries are plain JavaScript objects, so
+     * they can be passed directly to JSON.stringify
+     *
+     * @return An entry per action, reaction and computed value seen since the last reset
+     */
+    public Array<MetricsEntry> snapshot() {
+        Array<MetricsEntry> entries = JsArray.create();
+
+        addEntries(entries, ACTION, actions);
+        addEntries(entries, REACTION, reactions);
+        addEntries(entries, COMPUTE, computeds);
+
+        return entries;
+    }
+
+    private static void addEntries(Array<MetricsEntry> entries, String kind, Map<String, Stats> stats) {
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            entries.push(entry.getValue().toEntry(kind, entry.getKey()));
+        }
+    }
+
+    private void onEvent(SpyEvent event) {
+        if (event.spyReportEnd) {
+            //Ignore the end of any groups that were already open when we started listening
+            if (!openFrames.isEmpty()) {
+                openFrames.remove(openFrames.size() - 1).end();
+            }
+        } else if (event.spyReportStart) {
+            Stats stats = null;
+            boolean isAction = event.is(MobXSpy.ACTION);
+
+            if (isAction) {
+                stats = statsFor(actions, event.asAction().name);
+            } else if (event.is(MobXSpy.REACTION)) {
+                stats = statsFor(reactions, event.asReaction().getReaction().name);
+
+                Stats cause = outermostAction();
+                if (cause != null) {
+                    cause.reactions++;
+                }
+            }
+            openFrames.add(new Frame(stats, isAction));
+        } else if (event.is(MobXSpy.COMPUTE)) {
+            statsFor(computeds, event.asCompute().getName()).count++;
+
+            Stats cause = outermostAction();
+            if (cause != null) {
+                cause.computations++;
+            }
+        }
+    }
+
+    private Stats outermostAction() {
+        for (Frame frame : openFrames) {
+            if (frame.isAction) {
+                return frame.stats;
+            }
+        }
+        return null;
+    }
+
+    private static Stats statsFor(Map<String, Stats> stats, String name) {
+        Stats s = stats.get(name);
+
+        if (s == null) {
+            s = new Stats();
+            stats.put(name, s);
+        }
+        return s;
+    }
+
+    private static class Stats {
+        int count;
+        double totalTime;
+        double maxTime;
+        int reactions;
+        int computations;
+
+        void record(double time) {
+            count++;
+            totalTime += time;
+            maxTime = Math.max(maxTime, time);
+        }
+
+        MetricsEntry toEntry(String kind, String name) {
+            MetricsEntry entry = new MetricsEntry();
+
+            entry.kind = kind;
+            entry.name = name;
+            entry.count = count;
+            entry.totalTime = totalTime;
+            entry.maxTime = maxTime;
+            entry.reactions = reactions;
+            entry.computations = computations;
+
+            return entry;
+        }
+    }
+
+    private static class Frame {
+        final Stats stats;
+        final boolean isAction;
+        final double start = Duration.currentTimeMillis();
+
+        Frame(Stats stats, boolean isAction) {
+            this.stats = stats;
+            this.isAction = isAction;
+        }
+
+        void end() {
+            if (stats != null) {
+                stats.record(Duration.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    /**
+     * The exported metrics of a single action, reaction or computed value
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class MetricsEntry {
+        /**
+         * One of ACTION, REACTION or COMPUTE
+         */
+        public String kind;
+
+        /**
+         * The name of the action, reaction or computed value
+         */
+        public String name;
+
+        /**
+         * The number of times the action or reaction ran, or the computed value was recomputed
+         */
+        public int count;
+
+        /**
+         * The total time in milliseconds spent running. Not measured for computed values, whose
+         * time is included in the reaction or action that caused the recompute
+         */
+        public double totalTime;
+
+        /**
+         * The longest time in milliseconds of a single run
+         */
+        public double maxTime;
+
+        /**
+         * For actions, the number of reactions run as a result of the action
+         */
+        public int reactions;
+
+        /**
+         * For actions, the number of computed values recomputed as a result of the action
+         */
+        public int computations;
+
+        @JsOverlay
+        public final double getAverageTime() {
+            return count == 0 ? 0 : totalTime / count;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package gwt.mobx.client;
+
+import gwt.mobx.client.MobX.ComputedValue;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobX.ObservableValue;
+import gwt.mobx.client.MobX.ObserveCallBack;
+
+/**
+ * Operators that rate limit how often changes to a ComputedValue are propagated to the
+ * derivations observing it.
+ */
+public final class MobXOperators {
+
+    private MobXOperators() {
+    }
+
+    /**
+     * Creates a value that follows the source, but only takes on a new value once the source
+     * hasn't changed for the given delay. Use this to avoid expensive derivations re-running
+     * for each intermediate value, for example while the user is typing.
+     *
+     * <p>The source is observed until the returned value is disposed</p>
+     *
+     * @param source The ComputedValue to debounce
+     * @param delay The time in ms the source must be stable before the value is updated
+     * @param <T> The type of the value
+     * @return A RateLimitedValue
+     */
+    public static <T> RateLimitedValue<T> debounce(ComputedValue<T> source, int delay) {
+        return debounce(source, delay, Timers.browser());
+    }
+
+    /**
+     * Like debounce(source, delay), but uses the supplied clock and timeouts
+     *
+     * @param source The ComputedValue to debounce
+     * @param delay The time in ms the source must be stable before the value is updated
+     * @param timers The clock and timeouts to use
+     * @param <T> The type of the value
+     * @return A RateLimitedValue
+     */
+    public static <T> RateLimitedValue<T> debounce(ComputedValue<T> source, int delay, Timers timers) {
+        return new RateLimitedValue<>(source, delay, false, timers);
+    }
+
+    /**
+     * Creates a value that follows the source, but is updated at most once per interval. The
+     * first change is applied immediately and the latest change made during the interval is
+     * applied when the interval ends.
+     *
+     * <p>The source is observed until the returned value is disposed</p>
+     *
+     * @param source The ComputedValue to throttle
+     * @param interval The minimum time in ms between updates of the value
+     * @param <T> The type of the value
+     * @return A RateLimitedValue
+     */
+    public static <T> RateLimitedValue<T> throttle(ComputedValue<T> source, int interval) {
+        return throttle(source, interval, Timers.browser());
+    }
+
+    /**
+     * Like throttle(source, interval), but uses the supplied clock and timeouts
+     *
+     * @param source The ComputedValue to throttle
+     * @param interval The minimum time in ms between updates of the value
+     * @param timers The clock and timeouts to use
+     * @param <T> The type of the value
+     * @return A RateLimitedValue
+     */
+    public static <T> RateLimitedValue<T> throttle(ComputedValue<T> source, int interval, Timers timers) {
+        return new RateLimitedValue<>(source, interval, true, timers);
+    }
+
+    /**
+     * A value whose updates are rate limited. Reading it with get is observable, in the same
+     * way as reading a ComputedValue. Call dispose to stop observing the source.
+     *
+     * @param <T> The type of the value
+     */
+    public static class RateLimitedValue<T> {
+        private final ObservableValue<T> value;
+        private final DisposerFunction upstreamDisposer;
+        private final int delay;
+        private final boolean throttle;
+        private final Timers timers;
+        private int timeoutId;
+        private boolean timerPending;
+        private boolean changePending;
+        private T latest;
+
+        private RateLimitedValue(ComputedValue<T> source, int delay, boolean throttle, Timers timers) {
+            this.delay = delay;
+            this.throttle = throttle;
+            this.timers = timers;
+            this.latest = source.get();
+            this.value = MobX.observableValue(MobX.asReference(latest));
+            this.upstreamDisposer = source.observe((newValue, oldValue) -> onSourceChange(newValue), false);
+        }
+
+        /**
+         * @return The current value
+         */
+        public T get() {
+            return value.get();
+        }
+
+        /**
+         * Registers an observer function that will fire each time the value changes.
+         * Returns a function to cancel the observer
+         *
+         * @param callback The ObserveCallBack to call when the value changes
+         * @param fireImmediately If true, the callback will fire immediately observe is called
+         * @return A DisposerFunction to cancel the observer
+         */
+        public DisposerFunction observe(ObserveCallBack<T> callback, boolean fireImmediately) {
+            return value.observe(callback, fireImmediately);
+        }
+
+        /**
+         * Stops observing the source and cancels any pending update
+         */
+        public void dispose() {
+            upstreamDisposer.dispose();
+            if (timerPending) {
+                timers.clearTimeout(timeoutId);
+                timerPending = false;
+            }
+        }
+
+        private void onSourceChange(T newValue) {
+            latest = newValue;
+
+            if (throttle) {
+                if (timerPending) {
+                    changePending = true;
+                } else {
+                    update();
+                    startTimer();
+                }
+            } else {
+                if (timerPending) {
+                    timers.clearTimeout(timeoutId);
+                }
+                startTimer();
+            }
+        }
+
+        private void onTimeout() {
+            timerPending = false;
+
+            if (!throttle) {
+                update();
+            } else if (changePending) {
+                changePending = false;
+                update();
+                startTimer();
+            }
+        }
+
+        private void startTimer() {
+            timerPending = true;
+            timeoutId = timers.setTimeout(this::onTimeout, delay);
+        }
+
+        private void update() {
+            MobX.runInAction(() -> value.set(latest));
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobX.Reaction;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the changes made to an observable tree as a list of patches, and applies such lists
+ * to another tree. The patches follow RFC 6902 (JSON Patch): each one has an op of add, remove
+ * or replace, a JSON Pointer path from the root and, for add and replace, the new value as a
+ * plain JS value. As they are plain objects they can be posted to a web worker or another tab,
+ * which is much cheaper than sending a full toJSON of the state after each action.
+ *
+ * <pre>
+ * DisposerFunction stop = MobXPatches.record(store, patches -&gt; worker.postMessage(patches));
+ * ...
+ * MobXPatches.applyPatches(replica, patches);
+ * </pre>
+ *
+ * <p>Array changes are recorded as a remove for each removed entry followed by an add for each
+ * inserted entry, at the index of the splice. Properties of observable objects can't be deleted
+ * in MobX, so a remove of an object property sets it to null.</p>
+ */
+public final class MobXPatches {
+    public static final String ADD = "add";
+    public static final String REMOVE = "remove";
+    public static final String REPLACE = "replace";
+
+    private MobXPatches() {
+    }
+
+    /**
+     * Starts recording the changes to the observable arrays, maps and objects below root. The
+     * patches are passed to listener once per transaction or action, after it ends. Changes
+     * made outside of a transaction are passed to listener one at a time.
+     *
+     * @param root The observable array, map or object to record
+     * @param listener Called with the patches made by each transaction
+     * @return A function that stops the recording
+     */
+    public static DisposerFunction record(Object root, PatchListener listener) {
+        PatchRecorder[] recorder = new PatchRecorder[1];
+
+        //The flusher never tracks anything, so scheduling it always runs it, once the current
+        //transaction has ended
+        Reaction flusher = new Reaction("MobXPatches.record", () -> {
+            if (!recorder[0].isEmpty()) {
+                listener.onPatches(recorder[0].takePatches());
+            }
+        });
+
+        recorder[0] = new PatchRecorder(root, false, flusher::schedule);
+
+        return () -> {
+            flusher.dispose();
+            recorder[0].dispose();
+        };
+    }
+
+    /**
+     * Applies the patches to the tree below root, in order, as a single action. Values are
+     * converted as if they were assigned directly, so they become observable according to the
+     * modifiers of the arrays, maps and objects they are added to.
+     *
+     * @param root The observable array, map or object to apply the patches to
+     * @param patches The patches to apply
+     * @throws IllegalArgumentException If the path of a patch doesn't exist
+     */
+    public static void applyPatches(Object root, Array<Patch> patches) {
+        MobX.runInAction("MobXPatches.applyPatches", () -> {
+            for (int i = 0; i < patches.getLength(); i++) {
+                apply(root, patches.getAt(i));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void apply(Object root, Patch patch) {
+        List<String> path = fromPointer(patch.path);
+        Object parent = root;
+
+        for (int i = 0; i < path.size() - 1; i++) {
+            parent = child(parent, path.get(i), patch);
+        }
+
+        String key = path.get(path.size() - 1);
+
+        if (MobX.isObservableArray(parent)) {
+            ObservableArray<Object> array = (ObservableArray<Object>)parent;
+            int index = "-".equals(key) ? array.getLength() : index(key, patch);
+
+            switch (patch.op) {
+                case ADD:
+                    Array<Object> added = JsArray.create();
+
+                    added.push(patch.value);
+                    array.spliceWithArray(index, 0, added);
+                    break;
+                case REMOVE:
+                    array.spliceWithArray(index, 1, JsArray.create());
+                    break;
+                default:
+                    array.setAt(index, patch.value);
+            }
+        } else if (MobX.isObservableMap(parent)) {
+            ObservableMap<Object> map = (ObservableMap<Object>)parent;
+
+            if (REMOVE.equals(patch.op)) {
+                map.delete(key);
+            } else {
+                map.set(key, patch.value);
+            }
+        } else if (MobX.isObservableObject(parent) && !ObservableTree.isObservableProperty(parent, key)) {
+            JsPlainObj props = new JsPlainObj();
+
+            props.set(key, patch.value);
+            MobX.extendObservable(parent, props);
+        } else {
+            ((JsPlainObj)parent).set(key, REMOVE.equals(patch.op) ? null : patch.value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object child(Object parent, String key, Patch patch) {
+        Object child;
+
+        if (MobX.isObservableArray(parent)) {
+            child = ((ObservableArray<Object>)parent).getAt(index(key, patch));
+        } else if (MobX.isObservableMap(parent)) {
+            child = ((ObservableMap<Object>)parent).get(key);
+        } else {
+            child = parent != null ? ((JsPlainObj)parent).get(key) : null;
+        }
+
+        if (child == null) {
+            throw new IllegalArgumentException("The path of the patch doesn't exist: " + patch.path);
+        }
+        return child;
+    }
+
+    private static int index(String key, Patch patch) {
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid array index in the path of the patch: " + patch.path);
+        }
+    }
+
+    static String toPointer(List<String> path) {
+        StringBuilder pointer = new StringBuilder();
+
+        for (String key : path) {
+            pointer.append('/').append(escape(key));
+        }
+        return pointer.toString();
+    }
+
+    static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static List<String> fromPointer(String pointer) {
+        if (pointer == null || !pointer.startsWith("/")) {
+            throw new IllegalArgumentException("Invalid patch path: " + pointer);
+        }
+
+        List<String> path = new ArrayList<>();
+
+        for (String key : pointer.substring(1).split("/", -1)) {
+            path.add(key.replace("~1", "/").replace("~0", "~"));
+        }
+        return path;
+    }
+
+    @JsFunction
+    public interface PatchListener {
+        void onPatches(Array<Patch> patches);
+    }
+
+    /**
+     * A single JSON Patch operation
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class Patch {
+        public String op;
+        public String path;
+        public Object value;
+
+        @JsOverlay
+        public static Patch create(String op, String path, Object value) {
+            Patch patch = new Patch();
+
+            patch.op = op;
+            patch.path = path;
+            if (!REMOVE.equals(op)) {
+                patch.value = value;
+            }
+            return patch;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package gwt.mobx.client;
 import gwt.interop.utils.client.plainobjects.JsPlainObj;
 import gwt.react.client.components.Component;
 import gwt.react.client.components.ComponentConstructorFn;
-import gwt.react.client.components.ComponentUtils;
 import gwt.react.client.components.StatelessComponent;
 import gwt.react.client.proptypes.BaseContext;
 import gwt.react.client.proptypes.BaseProps;
@@ -25,13 +24,16 @@ public class MobXReact {
      * that observer is the innermost (first applied) function; otherwise it might do nothing
      * at all.</p>
      *
+     * <p>Each component class is only wrapped once, subsequent calls return the cached wrapper
+     * from the ObserverRegistry, so it is safe to call this method during rendering.</p>
+     *
      * @param type The react Component class to make an observer
      * @param <P> The prop types
      * @return A wrapped Component class
      */
     @JsOverlay
     public static <P extends BaseProps, S extends JsPlainObj, T extends Component<P, S>> ComponentConstructorFn<P> observer(Class<T> type) {
-        return observer(ComponentUtils.getCtorFn(type));
+        return ObserverRegistry.observer(type);
     }
 
     public static native <P extends BaseProps> ComponentConstructorFn<P> observer(ComponentConstructorFn<P> componentConstructorFn);
@@ -0,0 +1,237 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.DisposerFunction;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * Bindings for the MobX spy API. A spy listener receives an event for every action, reaction,
+ * computation and state change that happens within MobX, which makes it possible to build
+ * logging and instrumentation tools.
+ *
+ * <p>Events that enclose other events (actions, transactions and reactions) are reported twice: a
+ * start event with {@link SpyEvent#spyReportStart} set, followed by the nested events and finally
+ * an end event with {@link SpyEvent#spyReportEnd} set. End events don't carry a type, so they must
+ * be matched to their start event by nesting.</p>
+ *
+ * <p>Note that installing a spy listener slows MobX down, so it should only be used for
+ * development or sampled telemetry.</p>
+ */
+public final class MobXSpy {
+    public static final String ACTION = "action";
+    public static final String TRANSACTION = "transaction";
+    public static final String REACTION = "reaction";
+    public static final String SCHEDULED_REACTION = "scheduled-reaction";
+    public static final String COMPUTE = "compute";
+    public static final String UPDATE = "update";
+    public static final String SPLICE = "splice";
+    public static final String ADD = "add";
+    public static final String DELETE = "delete";
+    public static final String CREATE = "create";
+    public static final String ERROR = "error";
+
+    private MobXSpy() {
+    }
+
+    /**
+     * Registers a global spy listener that will receive all events that happen in MobX
+     *
+     * @param listener The listener to call for each event
+     * @return A function that removes the listener
+     */
+    @JsMethod(namespace = "MobX")
+    public static native DisposerFunction spy(SpyListener listener);
+
+    @JsFunction
+    public interface SpyListener {
+        void onEvent(SpyEvent event);
+    }
+
+    /**
+     * The common fields of all spy events. Use the type to determine which of the as methods can
+     * be used to access the event specific fields.
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class SpyEvent {
+        /**
+         * The type of event, or null for an end event
+         */
+        public String type;
+
+        /**
+         * The object the event applies to. For example the observable that changed or the
+         * reaction that ran
+         */
+        public Object object;
+
+        /**
+         * True if this event starts a group of nested events
+         */
+        public boolean spyReportStart;
+
+        /**
+         * True if this event ends the group started by the matching start event
+         */
+        public boolean spyReportEnd;
+
+        /**
+         * The time in milliseconds the group of events took. Only set on the end events of
+         * actions and reactions
+         */
+        public double time;
+
+        @JsOverlay
+        public final boolean is(String eventType) {
+            return eventType.equals(type);
+        }
+
+        @JsOverlay
+        public final ActionEvent asAction() {
+            return (ActionEvent)this;
+        }
+
+        @JsOverlay
+        public final ReactionEvent asReaction() {
+            return (ReactionEvent)this;
+        }
+
+        @JsOverlay
+        public final ComputeEvent asCompute() {
+            return (ComputeEvent)this;
+        }
+
+        @JsOverlay
+        @SuppressWarnings("unchecked")
+        public final <T> UpdateEvent<T> asUpdate() {
+            return (UpdateEvent<T>)this;
+        }
+
+        @JsOverlay
+        @SuppressWarnings("unchecked")
+        public final <T> SpliceEvent<T> asSplice() {
+            return (SpliceEvent<T>)this;
+        }
+
+        @JsOverlay
+        @SuppressWarnings("unchecked")
+        public final <T> AddEvent<T> asAdd() {
+            return (AddEvent<T>)this;
+        }
+
+        @JsOverlay
+        @SuppressWarnings("unchecked")
+        public final <T> DeleteEvent<T> asDelete() {
+            return (DeleteEvent<T>)this;
+        }
+    }
+
+    /**
+     * Reported when an action, such as runInAction, starts
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class ActionEvent extends SpyEvent {
+        /**
+         * The name of the action
+         */
+        public String name;
+
+        /**
+         * The this of the action function
+         */
+        public Object target;
+
+        /**
+         * The arguments the action was invoked with
+         */
+        public Array<Object> arguments;
+    }
+
+    /**
+     * Reported when a reaction (including autoruns and observer component renders) starts running
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class ReactionEvent extends SpyEvent {
+        @JsOverlay
+        public final MobX.Reaction getReaction() {
+            return (MobX.Reaction)object;
+        }
+    }
+
+    /**
+     * Reported each time a computed value is recomputed
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class ComputeEvent extends SpyEvent {
+        /**
+         * The this of the computed function
+         */
+        public Object target;
+
+        /**
+         * @return The debug name of the computed value being recomputed
+         */
+        @JsOverlay
+        public final String getName() {
+            return ((Named)object).name;
+        }
+    }
+
+    /**
+     * Reported when an observable value, object property, array element or map entry is
+     * assigned a new value
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class UpdateEvent<T> extends SpyEvent {
+        /**
+         * The name of the updated property or map key. Not set for arrays and boxed values
+         */
+        public String name;
+
+        /**
+         * The index of the updated element. Only set for arrays
+         */
+        public int index;
+
+        public T newValue;
+        public T oldValue;
+    }
+
+    /**
+     * Reported when elements are inserted into or removed from an observable array
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class SpliceEvent<T> extends SpyEvent {
+        public int index;
+        public Array<T> added;
+        public Array<T> removed;
+        public int addedCount;
+        public int removedCount;
+    }
+
+    /**
+     * Reported when a property is added to an observable object or a key to an observable map
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class AddEvent<T> extends SpyEvent {
+        public String name;
+        public T newValue;
+    }
+
+    /**
+     * Reported when a key is deleted from an observable map
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class DeleteEvent<T> extends SpyEvent {
+        public String name;
+        public T oldValue;
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    static class Named {
+        public String name;
+    }
+}
@@ -0,0 +1,395 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.ItemTracker.Item;
+import gwt.mobx.client.MobX.Atom;
+import gwt.mobx.client.MobX.ComputedDoubleExpression;
+import gwt.mobx.client.MobX.ComputedDoubleValue;
+import gwt.mobx.client.MobX.ComputedExpression;
+import gwt.mobx.client.MobX.ComputedIntExpression;
+import gwt.mobx.client.MobX.ComputedIntValue;
+import gwt.mobx.client.MobX.ComputedValue;
+import gwt.mobx.client.ObservableArray.ItemPredicate;
+import gwt.mobx.client.ObservableIndex.KeyFn;
+import jsinterop.annotations.JsFunction;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computed values aggregating the entries of an ObservableArray, which are kept up to date
+ * incrementally. A computed that iterates over the whole array has to iterate over it again
+ * whenever anything in it changes. These aggregates instead apply each splice or update of the
+ * array, and each change to an entry, to a running result, in O(1) for count and sum and
+ * O(log n) for min and max.
+ *
+ * <p>The function supplied for each entry is evaluated in its own reaction, so it may read
+ * observable properties of the entry, and the entry is counted again when they change. The
+ * running result is only maintained while the returned computed value is observed by a
+ * reaction. Reading it from anywhere else, or when it becomes observed again, iterates over the
+ * whole array once, like an ordinary computed would.</p>
+ */
+public final class ObservableAggregates {
+
+    private ObservableAggregates() {
+    }
+
+    /**
+     * Counts the entries of the array matching the predicate
+     *
+     * @param array The array to aggregate
+     * @param predicate The predicate selecting the entries to count
+     * @param <T> The type of Array element
+     * @return A ComputedIntValue holding the number of matching entries
+     */
+    public static <T> ComputedIntValue count(ObservableArray<T> array, ItemPredicate<T> predicate) {
+        Count<T> count = new Count<>(array, predicate);
+
+        return MobX.computed((ComputedIntExpression) () -> {
+            count.observe();
+            return count.count;
+        });
+    }
+
+    /**
+     * Sums a value of each entry of the array. Like any running total, the sum of fractional
+     * values accumulates rounding errors as entries are added and removed
+     *
+     * @param array The array to aggregate
+     * @param fn Returns the value of an entry
+     * @param <T> The type of Array element
+     * @return A ComputedDoubleValue holding the sum
+     */
+    public static <T> ComputedDoubleValue sum(ObservableArray<T> array, ToDoubleFn<T> fn) {
+        Sum<T> sum = new Sum<>(array, fn);
+
+        return MobX.computed((ComputedDoubleExpression) () -> {
+            sum.observe();
+            return sum.total;
+        });
+    }
+
+    /**
+     * Returns the smallest value of the entries of the array
+     *
+     * @param array The array to aggregate
+     * @param fn Returns the value of an entry, which must not be null
+     * @param comparator The comparator defining the order of the values
+     * @param <K> The type of the value
+     * @param <T> The type of Array element
+     * @return A ComputedValue holding the smallest value, or null if the array is empty
+     */
+    public static <K, T> ComputedValue<K> min(ObservableArray<T> array, KeyFn<K, T> fn, Comparator<? super K> comparator) {
+        Extremes<K, T> extremes = new Extremes<>("ObservableAggregates.min", array, fn, comparator);
+
+        return MobX.computed((ComputedExpression<K>) () -> {
+            extremes.observe();
+            return extremes.values.isEmpty() ? null : extremes.values.firstKey();
+        });
+    }
+
+    /**
+     * Returns the largest value of the entries of the array
+     *
+     * @param array The array to aggregate
+     * @param fn Returns the value of an entry, which must not be null
+     * @param comparator The comparator defining the order of the values
+     * @param <K> The type of the value
+     * @param <T> The type of Array element
+     * @return A ComputedValue holding the largest value, or null if the array is empty
+     */
+    public static <K, T> ComputedValue<K> max(ObservableArray<T> array, KeyFn<K, T> fn, Comparator<? super K> comparator) {
+        Extremes<K, T> extremes = new Extremes<>("ObservableAggregates.max", array, fn, comparator);
+
+        return MobX.computed((ComputedExpression<K>) () -> {
+            extremes.observe();
+            return extremes.values.isEmpty() ? null : extremes.values.lastKey();
+        });
+    }
+
+    /**
+     * Groups the entries of the array by key. The result is an ObservableMap from each key to
+     * an ObservableArray of the entries with that key, in the same order as in the source. The
+     * map and the group arrays must be treated as read-only. While the computed value is
+     * observed the same map is kept up to date, with groups added and removed as keys appear
+     * and disappear.
+     *
+     * @param array The array to group
+     * @param keyFn Returns the key of an entry
+     * @param <T> The type of Array element
+     * @return A ComputedValue holding the groups
+     */
+    public static <T> ComputedValue<ObservableMap<ObservableArray<T>>> groupBy(ObservableArray<T> array, KeyFn<String, T> keyFn) {
+        GroupBy<T> groupBy = new GroupBy<>(array, keyFn);
+
+        return MobX.computed((ComputedExpression<ObservableMap<ObservableArray<T>>>) () -> {
+            groupBy.observe();
+            return groupBy.groups;
+        });
+    }
+
+    @JsFunction
+    public interface ToDoubleFn<T> {
+        double applyAsDouble(T item);
+    }
+
+    /**
+     * An aggregate that tracks the entries of the array while its atom is observed
+     */
+    private abstract static class Aggregate<T, V> extends ItemTracker<T, V> {
+        private final ObservableArray<T> source;
+        private final Atom atom;
+        private boolean ready;
+
+        Aggregate(String name, ObservableArray<T> source, ItemFn<T, V> fn) {
+            super(name, fn);
+            this.source = source;
+            this.atom = new Atom(name, this::start, this::stop);
+        }
+
+        /**
+         * Clears the result before the entries are added again
+         */
+        abstract void reset();
+
+        /**
+         * Reports the result as read. If it isn't observed yet, this starts tracking the array
+         */
+        void observe() {
+            atom.reportObserved();
+        }
+
+        void reportChanged() {
+            if (ready) {
+                atom.reportChanged();
+            }
+        }
+
+        /**
+         * Called once the entries that were in the array when tracking started have been added
+         */
+        void started() {
+        }
+
+        private void start() {
+            //This runs while a computed value is being evaluated, so no observable state may
+            //be changed until the entries have been added
+            reset();
+            track(source);
+            started();
+            ready = true;
+        }
+
+        private void stop() {
+            ready = false;
+            dispose();
+        }
+    }
+
+    private static final class Count<T> extends Aggregate<T, Boolean> {
+        int count;
+
+        Count(ObservableArray<T> source, ItemPredicate<T> predicate) {
+            super("ObservableAggregates.count", source, predicate::test);
+        }
+
+        @Override
+        void reset() {
+            count = 0;
+        }
+
+        @Override
+        void added(Item<T, Boolean> item) {
+            if (item.value) {
+                count++;
+                reportChanged();
+            }
+        }
+
+        @Override
+        void removed(Item<T, Boolean> item) {
+            if (item.value) {
+                count--;
+                reportChanged();
+            }
+        }
+
+        @Override
+        void changed(Item<T, Boolean> item, Boolean oldValue) {
+            count += item.value ? 1 : -1;
+            reportChanged();
+        }
+    }
+
+    private static final class Sum<T> extends Aggregate<T, Double> {
+        double total;
+
+        Sum(ObservableArray<T> source, ToDoubleFn<T> fn) {
+            super("ObservableAggregates.sum", source, fn::applyAsDouble);
+        }
+
+        @Override
+        void reset() {
+            total = 0;
+        }
+
+        @Override
+        void added(Item<T, Double> item) {
+            total += item.value;
+            reportChanged();
+        }
+
+        @Override
+        void removed(Item<T, Double> item) {
+            total -= item.value;
+            reportChanged();
+        }
+
+        @Override
+        void changed(Item<T, Double> item, Double oldValue) {
+            total += item.value - oldValue;
+            reportChanged();
+        }
+    }
+
+    private static final class Extremes<K, T> extends Aggregate<T, K> {
+        //The number of entries with each value
+        final TreeMap<K, Integer> values;
+
+        Extremes(String name, ObservableArray<T> source, KeyFn<K, T> fn, Comparator<? super K> comparator) {
+            super(name, source, fn::getKey);
+            this.values = new TreeMap<>(comparator);
+        }
+
+        @Override
+        void reset() {
+            values.clear();
+        }
+
+        @Override
+        void added(Item<T, K> item) {
+            add(item.value);
+        }
+
+        @Override
+        void removed(Item<T, K> item) {
+            remove(item.value);
+        }
+
+        @Override
+        void changed(Item<T, K> item, K oldValue) {
+            remove(oldValue);
+            add(item.value);
+        }
+
+        private void add(K value) {
+            Integer count = values.get(value);
+
+            values.put(value, count == null ? 1 : count + 1);
+            reportChanged();
+        }
+
+        private void remove(K value) {
+            int count = values.get(value);
+
+            if (count == 1) {
+                values.remove(value);
+            } else {
+                values.put(value, count - 1);
+            }
+            reportChanged();
+        }
+    }
+
+    private static final class GroupBy<T> extends Aggregate<T, String> {
+        private final Map<String, Group<T>> groupsByKey = new HashMap<>();
+        private final Comparator<Item<T, String>> sourceOrder = (a, b) -> items.indexOf(a.node) - items.indexOf(b.node);
+        ObservableMap<ObservableArray<T>> groups;
+
+        GroupBy(ObservableArray<T> source, KeyFn<String, T> keyFn) {
+            super("ObservableAggregates.groupBy", source, keyFn::getKey);
+        }
+
+        @Override
+        void reset() {
+            groupsByKey.clear();
+            groups = null;
+        }
+
+        @Override
+        void started() {
+            //Observables may be created but not changed while a computed value is evaluated,
+            //so the initial groups are passed to the constructors
+            JsPlainObj initial = new JsPlainObj();
+
+            for (Map.Entry<String, Group<T>> entry : groupsByKey.entrySet()) {
+                Array<T> members = JsArray.create();
+
+                entry.getValue().members.forEach(item -> members.push(item.item));
+                entry.getValue().array = MobX.observableShallow(members);
+                initial.set(entry.getKey(), entry.getValue().array);
+            }
+            groups = ValueModifiers.map(initial, ValueModifiers.asReferenceModifier());
+        }
+
+        @Override
+        void added(Item<T, String> item) {
+            Group<T> group = groupsByKey.get(item.value);
+
+            if (group == null) {
+                group = new Group<>();
+                groupsByKey.put(item.value, group);
+            }
+
+            item.order = group.members.insertSorted(item, 0, sourceOrder);
+
+            if (groups != null) {
+                Array<T> added = JsArray.create();
+
+                added.push(item.item);
+
+                if (group.array == null) {
+                    group.array = MobX.observableShallow(added);
+                    groups.set(item.value, group.array);
+                } else {
+                    group.array.spliceWithArray(group.members.indexOf(item.order), 0, added);
+                }
+            }
+        }
+
+        @Override
+        void removed(Item<T, String> item) {
+            Group<T> group = groupsByKey.get(item.value);
+
+            group.array.spliceWithArray(group.members.indexOf(item.order), 1, JsArray.create());
+            group.members.remove(item.order);
+
+            if (group.members.size() == 0) {
+                groupsByKey.remove(item.value);
+                groups.delete(item.value);
+            }
+        }
+
+        @Override
+        void changed(Item<T, String> item, String oldValue) {
+            //Changes to the keys are made by the reactions of the entries, outside of any action
+            MobX.runInAction(name, () -> {
+                String newValue = item.value;
+
+                item.value = oldValue;
+                removed(item);
+                item.value = newValue;
+                added(item);
+            });
+        }
+    }
+
+    private static final class Group<T> {
+        final IndexedTree<Item<T, String>> members = new IndexedTree<>();
+        ObservableArray<T> array;
+    }
+}
@@ -1,6 +1,9 @@
 package gwt.mobx.client;
 
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
 import gwt.interop.utils.shared.collections.Array;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsOverlay;
 import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsType;
 
@@ -21,9 +24,6 @@ import jsinterop.annotations.JsType;
  */
 @JsType(isNative=true, namespace = JsPackage.GLOBAL, name="ObservableArray")
 public interface ObservableArray<T> extends Array<T> {
-    //TODO spliceWithArray(index: number, deleteCount?: number, newItems?: T[]): T[];
-    //TODO observe(listener: (changeData: IArrayChange<T>|IArraySplice<T>) => void, fireImmediately?: boolean): Lambda;
-
     /**
      * Clear all the entries in the array
      *
@@ -58,6 +58,17 @@ public interface ObservableArray<T> extends Array<T> {
      */
     ObservableArray<T> replace(ObservableArray<T> newItems);
 
+    /**
+     * Replaces all existing entries in the array with those of an array encoded by
+     * ObservableCodec, as a single action
+     *
+     * @param buffer The encoded array to replace with
+     */
+    @JsOverlay
+    default void replace(ArrayBuffer buffer) {
+        ObservableCodec.replace(this, buffer);
+    }
+
     /**
      * Find an item within the array
      *
@@ -75,4 +86,143 @@ public interface ObservableArray<T> extends Array<T> {
      * @return True if the item was removed
      */
     boolean remove(T value);
+
+    /**
+     * Removes deleteCount entries starting at index and inserts newItems in their place. Unlike
+     * splice, the new items are passed as an array, so any number of entries can be inserted
+     * while only generating a single change notification.
+     *
+     * @param index The index to start the splice at
+     * @param deleteCount The number of entries to remove
+     * @param newItems The items to insert at index
+     * @return The removed entries
+     */
+    @JsOverlay
+    default Array<T> spliceWithArray(int index, int deleteCount, Array<T> newItems) {
+        return ObservableArrayAdministration.of(this).spliceWithArray(index, deleteCount, newItems);
+    }
+
+    /**
+     * Appends all the supplied items to the end of the array as a single splice, so observers
+     * are only notified once
+     *
+     * @param newItems The items to append
+     */
+    @JsOverlay
+    default void addAll(Array<T> newItems) {
+        ObservableArrayAdministration<T> adm = ObservableArrayAdministration.of(this);
+        adm.spliceWithArray(adm.values.getLength(), 0, newItems);
+    }
+
+    /**
+     * Inserts all the supplied items at the given index as a single splice, so observers are
+     * only notified once
+     *
+     * @param index The index to insert the items at
+     * @param newItems The items to insert
+     */
+    @JsOverlay
+    default void addAll(int index, Array<T> newItems) {
+        ObservableArrayAdministration.of(this).spliceWithArray(index, 0, newItems);
+    }
+
+    /**
+     * Removes all the entries matching the predicate. The remaining entries are written back
+     * using a single splice starting at the first removed entry, so observers are only
+     * notified once
+     *
+     * @param predicate The predicate selecting the entries to remove
+     * @return True if any entries were removed
+     */
+    @JsOverlay
+    default boolean removeAll(ItemPredicate<T> predicate) {
+        return ObservableArrays.retain(this, predicate, false);
+    }
+
+    /**
+     * Removes all the entries not matching the predicate. The remaining entries are written
+     * back using a single splice starting at the first removed entry, so observers are only
+     * notified once
+     *
+     * @param predicate The predicate selecting the entries to keep
+     * @return True if any entries were removed
+     */
+    @JsOverlay
+    default boolean retainAll(ItemPredicate<T> predicate) {
+        return ObservableArrays.retain(this, predicate, true);
+    }
+
+    /**
+     * Registers a listener that fires upon each change in this array. Splices (including
+     * push, unshift, remove etc.) are reported as an ArraySplice, while index assignments are
+     * reported as an update. The change records are the objects created by MobX, so no Java
+     * side copies are made.
+     *
+     * @param listener The ArrayChangeListener to call when the array changes
+     * @return A DisposerFunction to cancel the observer
+     */
+    MobX.DisposerFunction observe(ArrayChangeListener<T> listener);
+
+    /**
+     * Registers a listener that fires upon each change in this array. Splices (including
+     * push, unshift, remove etc.) are reported as an ArraySplice, while index assignments are
+     * reported as an update. The change records are the objects created by MobX, so no Java
+     * side copies are made.
+     *
+     * @param listener The ArrayChangeListener to call when the array changes
+     * @param fireImmediately If true, the listener is called immediately with a splice that
+     *                        adds all the current entries of the array
+     * @return A DisposerFunction to cancel the observer
+     */
+    MobX.DisposerFunction observe(ArrayChangeListener<T> listener, boolean fireImmediately);
+
+    @JsFunction
+    interface ItemPredicate<T> {
+        boolean test(T item);
+    }
+
+    @JsFunction
+    interface ArrayChangeListener<T> {
+        void onChange(ArrayChange<T> change);
+    }
+
+    /**
+     * A change to an ObservableArray. Check the type (or use isSplice) before accessing
+     * the splice specific fields via asSplice.
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public class ArrayChange<T> {
+        public String type;
+        public ObservableArray<T> object;
+        public int index;
+        public T newValue;
+        public T oldValue;
+
+        @JsOverlay
+        public final boolean isSplice() {
+            return "splice".equals(type);
+        }
+
+        @JsOverlay
+        public final ChangeType getChangeType() {
+            return ChangeType.of(type);
+        }
+
+        @JsOverlay
+        public final ArraySplice<T> asSplice() {
+            return (ArraySplice<T>)this;
+        }
+    }
+
+    /**
+     * A splice of an ObservableArray. removedCount entries were removed at index and
+     * addedCount entries were inserted in their place.
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public class ArraySplice<T> extends ArrayChange<T> {
+        public Array<T> added;
+        public Array<T> removed;
+        public int addedCount;
+        public int removedCount;
+    }
 }
@@ -0,0 +1,31 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * The internal MobX administration object stored in the $mobx property of an observable array.
+ * It gives access to the raw backing array and the splice primitive that all of the array
+ * mutators are built upon.
+ *
+ * @param <T> The type of Array element
+ */
+@JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+class ObservableArrayAdministration<T> {
+    public Array<T> values;
+
+    public native Array<T> spliceWithArray(int index, int deleteCount, Array<T> newItems);
+
+    @JsOverlay
+    @SuppressWarnings("unchecked")
+    static <T> ObservableArrayAdministration<T> of(ObservableArray<T> array) {
+        return ((Owner<T>)(Object)array).$mobx;
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    static class Owner<T> {
+        public ObservableArrayAdministration<T> $mobx;
+    }
+}
@@ -0,0 +1,270 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.interop.utils.shared.collections.Array.MapFn;
+import gwt.mobx.client.ItemTracker.Item;
+import gwt.mobx.client.ObservableArray.ItemPredicate;
+import gwt.mobx.client.ObservableIndex.KeyFn;
+
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+import java.util.Comparator;
+
+/**
+ * Utility methods operating on ObservableArrays
+ *
+ * <p>filtered, mapped and sorted return derived arrays that are kept up to date incrementally.
+ * Rather than running the operation over the whole source array whenever anything changes,
+ * each splice or update of the source is translated into a splice of the derived array in
+ * O(log n) per changed entry. The function supplied for each entry is evaluated in its own
+ * reaction, so when an entry changes only that entry is evaluated again. When an observable
+ * read by every entry changes, such as the current filter, every entry is evaluated again, but
+ * the derived array still only receives the resulting difference.</p>
+ *
+ * <p>Derived arrays must be treated as read-only. They can be passed to any code accepting an
+ * ObservableArray, including another of these operators. A derived array is kept up to date
+ * until it is passed to dispose, and is only referenced by its source, so one that is no longer
+ * used can be garbage collected along with its source without being disposed.</p>
+ */
+public final class ObservableArrays {
+    private ObservableArrays() {
+    }
+
+    /**
+     * Returns a derived array containing the entries of the source that match the predicate,
+     * in the same order
+     *
+     * @param source The array to filter
+     * @param predicate The predicate selecting the entries to include. It may read observables,
+     *                  and the entry is included or excluded again when they change
+     * @param <T> The type of Array element
+     * @return A read-only ObservableArray
+     */
+    public static <T> ObservableArray<T> filtered(ObservableArray<T> source, ItemPredicate<T> predicate) {
+        return track(source, new FilteredArray<>(predicate));
+    }
+
+    /**
+     * Returns a derived array containing the result of applying the function to each entry of
+     * the source, in the same order
+     *
+     * @param source The array to map
+     * @param fn The function to apply. It may read observables, and the entry is mapped again
+     *           when they change
+     * @param <T> The type of Array element
+     * @param <R> The type of element of the derived array
+     * @return A read-only ObservableArray
+     */
+    public static <T, R> ObservableArray<R> mapped(ObservableArray<T> source, MapFn<T, R> fn) {
+        return track(source, new MappedArray<>(fn));
+    }
+
+    /**
+     * Returns a derived array containing the entries of the source ordered by the comparator.
+     * Entries are positioned when they are added to the source, so the comparator must only
+     * depend on values of the entries that never change. Use the overload taking a KeyFn when
+     * the order depends on observable properties of the entries.
+     *
+     * @param source The array to sort
+     * @param comparator The comparator defining the order
+     * @param <T> The type of Array element
+     * @return A read-only ObservableArray
+     */
+    public static <T> ObservableArray<T> sorted(ObservableArray<T> source, Comparator<? super T> comparator) {
+        return sorted(source, item -> item, comparator);
+    }
+
+    /**
+     * Returns a derived array containing the entries of the source ordered by the keys returned
+     * by keyFn. Entries with equal keys keep the order they have in the source.
+     *
+     * @param source The array to sort
+     * @param keyFn Returns the sort key of an entry. It may read observables, and the entry is
+     *              moved to its new position when they change
+     * @param comparator The comparator defining the order of the keys
+     * @param <K> The type of the sort key
+     * @param <T> The type of Array element
+     * @return A read-only ObservableArray
+     */
+    public static <K, T> ObservableArray<T> sorted(ObservableArray<T> source, KeyFn<K, T> keyFn, Comparator<? super K> comparator) {
+        return track(source, new SortedArray<>(keyFn, comparator));
+    }
+
+    /**
+     * Stops keeping a derived array up to date, so it and the reactions maintaining it can be
+     * garbage collected. The derived array keeps its current contents.
+     *
+     * @param derivedArray An array returned by filtered, mapped or sorted
+     */
+    public static void dispose(ObservableArray<?> derivedArray) {
+        Derived derived = (Derived)(Object)derivedArray;
+        ItemTracker<?, ?> tracker = derived.$derivedTracker;
+
+        if (tracker != null) {
+            derived.$derivedTracker = null;
+            tracker.dispose();
+        }
+    }
+
+    private static <T, V, O> ObservableArray<O> track(ObservableArray<T> source, DerivedArray<T, V, O> derivedArray) {
+        derivedArray.track(source);
+        ((Derived)(Object)derivedArray.array).$derivedTracker = derivedArray;
+
+        return derivedArray.array;
+    }
+
+    static <T> boolean retain(ObservableArray<T> array, ObservableArray.ItemPredicate<T> predicate, boolean keepMatches) {
+        ObservableArrayAdministration<T> adm = ObservableArrayAdministration.of(array);
+        Array<T> values = adm.values;
+        int length = values.getLength();
+        int firstRemoved = -1;
+        Array<T> kept = null;
+
+        for (int i = 0; i < length; i++) {
+            T item = values.getAt(i);
+
+            if (predicate.test(item) == keepMatches) {
+                if (kept != null) {
+                    kept.push(item);
+                }
+            } else if (kept == null) {
+                firstRemoved = i;
+                kept = JsArray.create();
+            }
+        }
+
+        if (kept == null) {
+            return false;
+        }
+
+        adm.spliceWithArray(firstRemoved, length - firstRemoved, kept);
+        return true;
+    }
+
+    //The tracker is held by the derived array itself rather than a registry, so it doesn't
+    //outlive the array
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    private static class Derived {
+        public ItemTracker<?, ?> $derivedTracker;
+    }
+
+    private static final class FilteredArray<T> extends DerivedArray<T, Boolean, T> {
+        FilteredArray(ItemPredicate<T> predicate) {
+            super("ObservableArrays.filtered", predicate::test);
+        }
+
+        @Override
+        void added(Item<T, Boolean> item) {
+            if (item.value) {
+                include(item);
+            }
+        }
+
+        @Override
+        void removed(Item<T, Boolean> item) {
+            if (item.value) {
+                delete(items.weightBefore(item.node));
+            }
+        }
+
+        @Override
+        void changed(Item<T, Boolean> item, Boolean oldValue) {
+            if (item.value) {
+                include(item);
+            } else {
+                delete(items.weightBefore(item.node));
+                items.setWeight(item.node, 0);
+            }
+        }
+
+        @Override
+        void rebuild(Array<T> target) {
+            items.forEach(item -> {
+                if (item.value) {
+                    target.push(item.item);
+                }
+            });
+        }
+
+        private void include(Item<T, Boolean> item) {
+            items.setWeight(item.node, 1);
+            insert(items.weightBefore(item.node), item.item);
+        }
+    }
+
+    private static final class MappedArray<T, R> extends DerivedArray<T, R, R> {
+        MappedArray(MapFn<T, R> fn) {
+            super("ObservableArrays.mapped", fn::map);
+        }
+
+        @Override
+        void added(Item<T, R> item) {
+            insert(items.indexOf(item.node), item.value);
+        }
+
+        @Override
+        void removed(Item<T, R> item) {
+            delete(items.indexOf(item.node));
+        }
+
+        @Override
+        void changed(Item<T, R> item, R oldValue) {
+            replace(items.indexOf(item.node), item.value);
+        }
+
+        @Override
+        void rebuild(Array<R> target) {
+            items.forEach(item -> target.push(item.value));
+        }
+    }
+
+    private static final class SortedArray<K, T> extends DerivedArray<T, K, T> {
+        private final IndexedTree<Item<T, K>> order = new IndexedTree<>();
+        private final Comparator<Item<T, K>> itemComparator;
+
+        SortedArray(KeyFn<K, T> keyFn, Comparator<? super K> comparator) {
+            super("ObservableArrays.sorted", keyFn::getKey);
+
+            //Ties are broken by the position in the source, which keeps the sort stable
+            itemComparator = (a, b) -> {
+                int result = comparator.compare(a.value, b.value);
+
+                return result != 0 ? result : items.indexOf(a.node) - items.indexOf(b.node);
+            };
+        }
+
+        @Override
+        void added(Item<T, K> item) {
+            item.order = order.insertSorted(item, 0, itemComparator);
+            insert(order.indexOf(item.order), item.item);
+        }
+
+        @Override
+        void removed(Item<T, K> item) {
+            delete(order.indexOf(item.order));
+            order.remove(item.order);
+        }
+
+        @Override
+        void changed(Item<T, K> item, K oldValue) {
+            int from = order.indexOf(item.order);
+
+            order.remove(item.order);
+            item.order = order.insertSorted(item, 0, itemComparator);
+
+            int to = order.indexOf(item.order);
+
+            if (from != to) {
+                delete(from);
+                insert(to, item.item);
+            }
+        }
+
+        @Override
+        void rebuild(Array<T> target) {
+            order.forEach(item -> target.push(item.item));
+        }
+    }
+}
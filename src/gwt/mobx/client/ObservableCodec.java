@@ -0,0 +1,424 @@
+package gwt.mobx.client;
+
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
+import com.google.gwt.typedarrays.shared.DataView;
+import com.google.gwt.typedarrays.shared.TypedArrays;
+import com.google.gwt.typedarrays.shared.Uint8Array;
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.interop.utils.shared.collections.Array;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary format for observable state, backed by typed arrays. Decoding creates the
+ * observable arrays, maps and objects directly, bottom up, so hydrating a store is a single pass
+ * over the buffer. Parsing JSON and then passing the result to MobX.observable walks and
+ * allocates the whole graph twice.
+ *
+ * <p>Values are encoded as a tag byte followed by the value:</p>
+ * <ul>
+ *     <li>null, false and true have no value</li>
+ *     <li>whole numbers that fit in an int are a zigzag encoded varint, other numbers a
+ *     little endian float64</li>
+ *     <li>strings are a varint length followed by UTF-16LE code units. Each string is only
+ *     written once; later occurrences, such as the keys of similar objects, are a varint
+ *     reference to it</li>
+ *     <li>arrays are a varint count followed by the entries</li>
+ *     <li>objects and maps are a varint count followed by the keys and values. Maps are decoded
+ *     as an ObservableMap, objects as an observable object</li>
+ * </ul>
+ *
+ * <p>The buffer starts with a format version byte. Any other object is encoded as an object
+ * holding its enumerable own properties.</p>
+ */
+public final class ObservableCodec {
+    private static final int VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+    private static final int INT = 3;
+    private static final int DOUBLE = 4;
+    private static final int STRING = 5;
+    private static final int STRING_REF = 6;
+    private static final int ARRAY = 7;
+    private static final int OBJECT = 8;
+    private static final int MAP = 9;
+
+    private ObservableCodec() {
+    }
+
+    /**
+     * Encodes a value. Observable arrays, maps and objects are encoded with their current
+     * values, as are plain JS arrays and objects. The value must not contain cycles. An array,
+     * map or object that is reachable by several paths is encoded once for each of them, and
+     * decoded as separate copies.
+     *
+     * @param value The value to encode
+     * @return A buffer holding the encoded value
+     * @throws IllegalArgumentException If an array, map or object contains itself
+     */
+    public static ArrayBuffer encode(Object value) {
+        Writer writer = new Writer();
+
+        writer.writeByte(VERSION);
+        writer.write(value);
+        return writer.toBuffer();
+    }
+
+    /**
+     * Decodes a buffer into observable values. Arrays become ObservableArrays, maps
+     * ObservableMaps and objects observable objects.
+     *
+     * @param buffer A buffer created by encode
+     * @param <T> The type of the value
+     * @return The decoded value
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T decode(ArrayBuffer buffer) {
+        Object[] result = new Object[1];
+
+        MobX.runInAction("ObservableCodec.decode", () -> result[0] = new Reader(buffer, true).read());
+        return (T)result[0];
+    }
+
+    /**
+     * Decodes a buffer into plain JS values, for example in a web worker. Maps become plain
+     * objects.
+     *
+     * @param buffer A buffer created by encode
+     * @param <T> The type of the value
+     * @return The decoded value
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T decodeJS(ArrayBuffer buffer) {
+        return (T)new Reader(buffer, false).read();
+    }
+
+    /**
+     * Sets each entry of the encoded map or object in map, as a single action. The values are
+     * decoded straight into the map, without creating an intermediate object.
+     *
+     * @param map The map to merge into
+     * @param buffer A buffer created by encode from a map or an object
+     * @param <T> The type of the values in the map
+     * @throws IllegalArgumentException If the buffer doesn't hold a map or an object
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void merge(ObservableMap<T> map, ArrayBuffer buffer) {
+        MobX.runInAction("ObservableCodec.merge", () -> {
+            Reader reader = new Reader(buffer, true);
+            int tag = reader.readByte();
+
+            if (tag != OBJECT && tag != MAP) {
+                throw new IllegalArgumentException("The buffer doesn't hold a map or an object");
+            }
+
+            for (int i = reader.readVarint(); i > 0; i--) {
+                String key = reader.readString(reader.readByte());
+
+                map.set(key, (T)reader.read());
+            }
+        });
+    }
+
+    /**
+     * Replaces the contents of array with the encoded array, as a single splice
+     *
+     * @param array The array to replace the contents of
+     * @param buffer A buffer created by encode from an array
+     * @param <T> The type of the entries in the array
+     * @throws IllegalArgumentException If the buffer doesn't hold an array
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void replace(ObservableArray<T> array, ArrayBuffer buffer) {
+        MobX.runInAction("ObservableCodec.replace", () -> {
+            Reader reader = new Reader(buffer, true);
+
+            if (reader.readByte() != ARRAY) {
+                throw new IllegalArgumentException("The buffer doesn't hold an array");
+            }
+            array.replace((Array<T>)reader.readArray());
+        });
+    }
+
+    private static final class Writer {
+        private final Map<String, Integer> strings = new HashMap<>();
+        //The arrays, maps and objects being written, from the root down to the current value
+        private final List<Object> ancestors = new ArrayList<>();
+        private ArrayBuffer buffer = TypedArrays.createArrayBuffer(1024);
+        private DataView view = TypedArrays.createDataView(buffer);
+        private int position;
+
+        void write(Object value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean)value ? TRUE : FALSE);
+            } else if (value instanceof Number) {
+                writeNumber(((Number)value).doubleValue());
+            } else if (value instanceof String) {
+                writeString((String)value);
+            } else {
+                enter(value);
+                writeContainer(value);
+                ancestors.remove(ancestors.size() - 1);
+            }
+        }
+
+        private void enter(Object value) {
+            for (Object ancestor : ancestors) {
+                if (ancestor == value) {
+                    throw new IllegalArgumentException("Cyclic values can't be encoded");
+                }
+            }
+            ancestors.add(value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeContainer(Object value) {
+            if (MobX.isObservableMap(value)) {
+                ObservableMap<Object> map = (ObservableMap<Object>)value;
+
+                writeByte(MAP);
+                writeVarint(map.size());
+                map.forEach((entry, key, m) -> {
+                    writeString(key);
+                    write(entry);
+                });
+            } else if (MobX.isObservableArray(value) || ObservableTree.isArray(value)) {
+                Array<Object> array = (Array<Object>)value;
+                int length = array.getLength();
+
+                writeByte(ARRAY);
+                writeVarint(length);
+                for (int i = 0; i < length; i++) {
+                    write(array.getAt(i));
+                }
+            } else {
+                writeObject(value);
+            }
+        }
+
+        private void writeObject(Object value) {
+            JsPlainObj object = (JsPlainObj)value;
+            Array<String> keys = ObservableTree.keys(value);
+            boolean observable = MobX.isObservableObject(value);
+
+            if (observable) {
+                Array<String> observableKeys = JsArray.create();
+
+                for (int i = 0; i < keys.getLength(); i++) {
+                    if (ObservableTree.isObservableProperty(value, keys.getAt(i))) {
+                        observableKeys.push(keys.getAt(i));
+                    }
+                }
+                keys = observableKeys;
+            }
+
+            writeByte(OBJECT);
+            writeVarint(keys.getLength());
+            for (int i = 0; i < keys.getLength(); i++) {
+                writeString(keys.getAt(i));
+                write(object.get(keys.getAt(i)));
+            }
+        }
+
+        private void writeNumber(double value) {
+            if (value == (int)value && (value != 0 || 1 / value > 0)) {
+                int n = (int)value;
+
+                writeByte(INT);
+                writeVarint((n << 1) ^ (n >> 31));
+            } else {
+                writeByte(DOUBLE);
+                ensure(8);
+                view.setFloat64(position, value, true);
+                position += 8;
+            }
+        }
+
+        private void writeString(String value) {
+            Integer ref = strings.get(value);
+
+            if (ref != null) {
+                writeByte(STRING_REF);
+                writeVarint(ref);
+                return;
+            }
+            strings.put(value, strings.size());
+
+            int length = value.length();
+
+            writeByte(STRING);
+            writeVarint(length);
+            ensure(length * 2);
+            for (int i = 0; i < length; i++) {
+                view.setUint16(position, value.charAt(i), true);
+                position += 2;
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            view.setUint8(position++, value);
+        }
+
+        private void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                view.setUint8(position++, (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            view.setUint8(position++, value);
+        }
+
+        private void ensure(int bytes) {
+            int capacity = buffer.byteLength();
+
+            if (position + bytes > capacity) {
+                ArrayBuffer grown = TypedArrays.createArrayBuffer(Math.max(capacity * 2, position + bytes));
+
+                TypedArrays.createUint8Array(grown).set(TypedArrays.createUint8Array(buffer, 0, position));
+                buffer = grown;
+                view = TypedArrays.createDataView(grown);
+            }
+        }
+
+        ArrayBuffer toBuffer() {
+            Uint8Array result = TypedArrays.createUint8Array(position);
+
+            result.set(TypedArrays.createUint8Array(buffer, 0, position));
+            return result.buffer();
+        }
+    }
+
+    private static final class Reader {
+        private final DataView view;
+        private final boolean observable;
+        private final List<String> strings = new ArrayList<>();
+        private int position;
+
+        Reader(ArrayBuffer buffer, boolean observable) {
+            this.view = TypedArrays.createDataView(buffer);
+            this.observable = observable;
+
+            int version = readByte();
+
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported format version " + version);
+            }
+        }
+
+        Object read() {
+            int tag = readByte();
+
+            switch (tag) {
+                case NULL:
+                    return null;
+                case FALSE:
+                    return false;
+                case TRUE:
+                    return true;
+                case INT:
+                    int n = readVarint();
+
+                    return (double)((n >>> 1) ^ -(n & 1));
+                case DOUBLE:
+                    double value = view.getFloat64(position, true);
+
+                    position += 8;
+                    return value;
+                case STRING:
+                case STRING_REF:
+                    return readString(tag);
+                case ARRAY:
+                    Array<Object> array = readArray();
+
+                    return observable ? MobX.observable(array) : array;
+                case OBJECT:
+                    JsPlainObj object = readObject();
+
+                    return observable ? MobX.observable(object) : object;
+                case MAP:
+                    if (!observable) {
+                        return readObject();
+                    }
+
+                    ObservableMap<Object> map = MobX.map();
+
+                    for (int i = readVarint(); i > 0; i--) {
+                        String key = readString(readByte());
+
+                        map.set(key, read());
+                    }
+                    return map;
+                default:
+                    throw new IllegalArgumentException("Invalid tag " + tag + " at " + (position - 1));
+            }
+        }
+
+        Array<Object> readArray() {
+            Array<Object> array = JsArray.create();
+
+            for (int i = readVarint(); i > 0; i--) {
+                array.push(read());
+            }
+            return array;
+        }
+
+        private JsPlainObj readObject() {
+            JsPlainObj object = new JsPlainObj();
+
+            for (int i = readVarint(); i > 0; i--) {
+                String key = readString(readByte());
+
+                object.set(key, read());
+            }
+            return object;
+        }
+
+        String readString(int tag) {
+            if (tag == STRING_REF) {
+                return strings.get(readVarint());
+            }
+            if (tag != STRING) {
+                throw new IllegalArgumentException("Expected a string at " + (position - 1));
+            }
+
+            char[] chars = new char[readVarint()];
+
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char)view.getUint16(position, true);
+                position += 2;
+            }
+
+            String value = new String(chars);
+
+            strings.add(value);
+            return value;
+        }
+
+        int readByte() {
+            return view.getUint8(position++);
+        }
+
+        int readVarint() {
+            int value = 0;
+            int shift = 0;
+            int b;
+
+            do {
+                b = readByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            return value;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.Atom;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.ObservableArray.ArrayChange;
+import gwt.mobx.client.ObservableArray.ArraySplice;
+import jsinterop.annotations.JsFunction;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A keyed index over the entries of an ObservableArray. The index is kept in sync with the
+ * array by applying each splice or update as it happens, so lookups by key are O(1) instead of
+ * a linear scan of the array.
+ *
+ * <p>get and has are reactive: a derivation reading a key will re-run when an entry with that
+ * key is added to or removed from the array. Only the keys actually being observed are tracked.
+ * Keys must be unique within the array and must not change while an entry is in the array.</p>
+ *
+ * @param <K> The type of the key
+ * @param <T> The type of Array element
+ */
+public class ObservableIndex<K, T> {
+    private final KeyFn<K, T> keyFn;
+    private final Map<K, T> entries = new HashMap<>();
+    private final Map<K, Atom> atoms = new HashMap<>();
+    private final DisposerFunction disposer;
+
+    /**
+     * Creates an index over the supplied array
+     *
+     * @param source The array to index
+     * @param keyFn A function returning the key of an array entry
+     */
+    public ObservableIndex(ObservableArray<T> source, KeyFn<K, T> keyFn) {
+        this.keyFn = keyFn;
+        this.disposer = source.observe(this::onChange, true);
+    }
+
+    /**
+     * Returns the entry with the given key
+     *
+     * @param key The key of the entry to retrieve
+     * @return The entry or null if there is no entry with the key
+     */
+    public T get(K key) {
+        reportObserved(key);
+        return entries.get(key);
+    }
+
+    /**
+     * Returns whether the index contains an entry with the given key
+     *
+     * @param key The key to test for
+     * @return true if an entry with the key is in the array
+     */
+    public boolean has(K key) {
+        reportObserved(key);
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Returns the number of indexed entries. This is not reactive, read the length of the
+     * source array to track changes to it.
+     *
+     * @return The size of the index
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stops keeping the index in sync with the source array
+     */
+    public void dispose() {
+        disposer.dispose();
+    }
+
+    private void onChange(ArrayChange<T> change) {
+        MobX.transaction(() -> {
+            if (change.isSplice()) {
+                ArraySplice<T> splice = change.asSplice();
+                Array<T> removed = splice.removed;
+
+                for (int i = 0; i < splice.removedCount; i++) {
+                    removeEntry(removed.getAt(i));
+                }
+
+                Array<T> added = splice.added;
+
+                for (int i = 0; i < splice.addedCount; i++) {
+                    addEntry(added.getAt(i));
+                }
+            } else {
+                removeEntry(change.oldValue);
+                addEntry(change.newValue);
+            }
+        });
+    }
+
+    private void addEntry(T item) {
+        K key = keyFn.getKey(item);
+
+        if (entries.put(key, item) != item) {
+            reportChanged(key);
+        }
+    }
+
+    private void removeEntry(T item) {
+        K key = keyFn.getKey(item);
+
+        if (entries.get(key) == item) {
+            entries.remove(key);
+            reportChanged(key);
+        }
+    }
+
+    private void reportObserved(K key) {
+        Atom atom = atoms.get(key);
+
+        if (atom == null) {
+            atom = new Atom("ObservableIndex[" + key + "]", () -> {}, () -> atoms.remove(key));
+            atoms.put(key, atom);
+        }
+        atom.reportObserved();
+    }
+
+    private void reportChanged(K key) {
+        Atom atom = atoms.get(key);
+
+        if (atom != null) {
+            atom.reportChanged();
+        }
+    }
+
+    @JsFunction
+    public interface KeyFn<K, T> {
+        K getKey(T item);
+    }
+}
@@ -0,0 +1,123 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import gwt.interop.utils.shared.collections.StringMap;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * An observable map keyed by int values. This is the same MobX ObservableMap as returned by
+ * MobX.map(), but the int keys are passed straight through to MobX, so no Java String has to be
+ * created for each lookup.
+ *
+ * <p>MobX stores all map keys as strings, so the keys returned by keys(), forEach and observe
+ * are the string form of the int keys</p>
+ */
+@JsType(isNative=true, namespace = JsPackage.GLOBAL, name="ObservableMap")
+public interface ObservableIntMap<T> {
+    /**
+     * Returns whether this map has the provided key. Note that the presence of a key is an
+     * observable fact in itself
+     *
+     * @param key The key value to test for
+     * @return true if the key is within the map
+     */
+    boolean has(int key);
+
+    /**
+     * Sets the given key to value. The provided key will be added to the map if it didn't exist yet
+     *
+     * @param key The key to set
+     * @param value The value to set
+     */
+    void set(int key, T value);
+
+    /**
+     * Deletes the given key and its value from the map
+     *
+     * @param key The key to delete
+     */
+    void delete(int key);
+
+    /**
+     * Returns the value at the given key (or undefined). Make sure that you guard get calls with has
+     *
+     * @param key The key of the value to retrieve
+     * @return The value or null if it doesn't exist
+     */
+    T get(int key);
+
+    /**
+     * Returns all keys present in this map. The insertion order is preserved
+     *
+     * @return An Array of keys in their string form
+     */
+    Array<String> keys();
+
+    /**
+     * Returns all values present in this map. Insertion order is preserved
+     *
+     * @return An Array of values
+     */
+    Array<T> values();
+
+    /**
+     * Invokes the given callback for each key / value pair in the map
+     *
+     * @param forEachFn The function to call for each key/value pair
+     */
+    void forEach(ForEachFn<T> forEachFn);
+
+    /**
+     * Removes all entries from this map
+     */
+    void clear();
+
+    /**
+     * Returns the amount of entries in this map
+     *
+     * @return The size of the map
+     */
+    @JsProperty(name="size") int size();
+
+    /**
+     * Returns a shallow plain object representation of this map. (For a deep copy use
+     * MobX.toJSON(map)).
+     *
+     * @return A plain object representation of this map, suitable to transmit as JSON
+     */
+    StringMap<T> toJS();
+
+    /**
+     * Registers a listener that fires upon each change in this map, similarly to the events that
+     * are emitted for Object.observe.
+     *
+     * @param observeMapCallback The ObserveMapCallback to call when the value changes
+     * @return A DisposerFunction to cancel the observer
+     */
+    MobX.DisposerFunction observe(ObservableMap.ObserveMapCallback<T> observeMapCallback);
+
+    /**
+     * Registers an interceptor that is called before each change is applied to this map. The
+     * interceptor can return the change as is, return it with a different newValue to rewrite
+     * the value that is stored, or return null to veto the change.
+     *
+     * @param interceptor The InterceptorFn to call before each change
+     * @return A DisposerFunction to remove the interceptor
+     */
+    MobX.DisposerFunction intercept(ObservableMap.InterceptorFn<T> interceptor);
+
+    /**
+     * Copies all entries from the provided ObservableIntMap into this map
+     *
+     * @param toMerge The map to merge
+     */
+    void merge(ObservableIntMap<T> toMerge);
+
+    @JsFunction
+    interface ForEachFn<T> {
+        void forEach(T value, String key, ObservableIntMap<T> map);
+    }
+}
@@ -0,0 +1,236 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.ObservableMap.ObserveMapCallback;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An observable map with a bounded number of entries, intended for use as a client side cache.
+ * When the capacity is exceeded the least recently used entry is removed. Optionally entries can
+ * also expire a fixed time after they were last set.
+ *
+ * <p>Entries are held in an ordinary ObservableMap, so reads and writes are observable in the
+ * same way. Evictions are ordinary deletes and are reported to observe listeners as delete
+ * changes. Reading an entry with get counts as using it, but the recency bookkeeping is not
+ * observable, so reads never cause reactions to run.</p>
+ *
+ * <p>An expired entry is reported as absent by has and get straight away, and is deleted
+ * from the map by the next call to purgeExpired. When a TTL is set, purgeExpired is scheduled
+ * automatically for when the oldest entry expires.</p>
+ *
+ * @param <T> The type of the values
+ */
+public class ObservableLruMap<T> {
+    private final ObservableMap<T> map = MobX.map();
+    private final int capacity;
+    private final int ttl;
+    private final Timers timers;
+    private final Map<String, Double> expiries = new LinkedHashMap<>(16, 0.75f, true);
+    private int purgeTimer = -1;
+
+    /**
+     * Creates a new ObservableLruMap whose entries never expire
+     *
+     * @param capacity The maximum number of entries
+     */
+    public ObservableLruMap(int capacity) {
+        this(capacity, 0);
+    }
+
+    /**
+     * Creates a new ObservableLruMap
+     *
+     * @param capacity The maximum number of entries
+     * @param ttl The time in milliseconds after which an entry expires, or 0 if entries should
+     *            never expire
+     */
+    public ObservableLruMap(int capacity, int ttl) {
+        this(capacity, ttl, Timers.browser());
+    }
+
+    /**
+     * Creates a new ObservableLruMap that uses the supplied clock and timeouts for expiry
+     *
+     * @param capacity The maximum number of entries
+     * @param ttl The time in milliseconds after which an entry expires, or 0 if entries should
+     *            never expire
+     * @param timers The clock and timeouts to use
+     */
+    public ObservableLruMap(int capacity, int ttl, Timers timers) {
+        this.capacity = capacity;
+        this.ttl = ttl;
+        this.timers = timers;
+    }
+
+    /**
+     * Returns whether this map has the provided key. Note that the presence of a key is an
+     * observable fact in itself
+     *
+     * @param key The key value to test for
+     * @return true if the key is within the map and hasn't expired
+     */
+    public boolean has(String key) {
+        return map.has(key) && !isExpired(key);
+    }
+
+    /**
+     * Returns the value at the given key and marks the entry as the most recently used
+     *
+     * @param key The key of the value to retrieve
+     * @return The value or null if it doesn't exist or has expired
+     */
+    public T get(String key) {
+        T value = map.get(key);
+
+        if (value == null || isExpired(key)) {
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * Sets the given key to value, evicting the least recently used entry if the map is full
+     *
+     * @param key The key to set
+     * @param value The value to set
+     */
+    public void set(String key, T value) {
+        MobX.runInAction("ObservableLruMap.set", () -> {
+            expiries.put(key, ttl > 0 ? timers.now() + ttl : Double.MAX_VALUE);
+            map.set(key, value);
+
+            Iterator<String> it = expiries.keySet().iterator();
+
+            while (expiries.size() > capacity) {
+                String eldest = it.next();
+
+                it.remove();
+                map.delete(eldest);
+            }
+        });
+        schedulePurge();
+    }
+
+    /**
+     * Deletes the given key and its value from the map
+     *
+     * @param key The key to delete
+     */
+    public void delete(String key) {
+        MobX.runInAction("ObservableLruMap.delete", () -> {
+            expiries.remove(key);
+            map.delete(key);
+        });
+    }
+
+    /**
+     * Removes all entries from this map
+     */
+    public void clear() {
+        MobX.runInAction("ObservableLruMap.clear", () -> {
+            expiries.clear();
+            map.clear();
+        });
+    }
+
+    /**
+     * Returns all keys present in this map, including those that have expired but have not been
+     * purged yet. The insertion order is preserved
+     *
+     * @return An Array of keys
+     */
+    public Array<String> keys() {
+        return map.keys();
+    }
+
+    /**
+     * Returns all values present in this map, including those that have expired but have not
+     * been purged yet. Insertion order is preserved
+     *
+     * @return An Array of values
+     */
+    public Array<T> values() {
+        return map.values();
+    }
+
+    /**
+     * Returns the amount of entries in this map
+     *
+     * @return The size of the map
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * Registers a listener that fires upon each change in this map, including the deletes
+     * caused by evictions and expiry
+     *
+     * @param observeMapCallback The ObserveMapCallback to call when the value changes
+     * @return A DisposerFunction to cancel the observer
+     */
+    public DisposerFunction observe(ObserveMapCallback<T> observeMapCallback) {
+        return map.observe(observeMapCallback);
+    }
+
+    /**
+     * Deletes all the entries that have expired
+     */
+    public void purgeExpired() {
+        double now = timers.now();
+
+        MobX.runInAction("ObservableLruMap.purgeExpired", () -> {
+            Iterator<Map.Entry<String, Double>> it = expiries.entrySet().iterator();
+
+            while (it.hasNext()) {
+                Map.Entry<String, Double> entry = it.next();
+
+                if (entry.getValue() <= now) {
+                    it.remove();
+                    map.delete(entry.getKey());
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancels the scheduled purge of expired entries. Call this when the map is no longer
+     * needed, so the pending timer doesn't keep it alive
+     */
+    public void dispose() {
+        if (purgeTimer >= 0) {
+            timers.clearTimeout(purgeTimer);
+            purgeTimer = -1;
+        }
+    }
+
+    private boolean isExpired(String key) {
+        Double expiry = expiries.get(key);
+
+        return expiry != null && expiry <= timers.now();
+    }
+
+    private void schedulePurge() {
+        if (ttl <= 0 || purgeTimer >= 0 || expiries.isEmpty()) {
+            return;
+        }
+
+        double oldest = Double.MAX_VALUE;
+
+        for (double expiry : expiries.values()) {
+            oldest = Math.min(oldest, expiry);
+        }
+
+        int delay = (int)Math.max(0, oldest - timers.now());
+
+        purgeTimer = timers.setTimeout(() -> {
+            purgeTimer = -1;
+            purgeExpired();
+            schedulePurge();
+        }, delay);
+    }
+}
@@ -1,8 +1,10 @@
 package gwt.mobx.client;
 
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
 import gwt.interop.utils.shared.collections.Array;
 import gwt.interop.utils.shared.collections.StringMap;
 import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsOverlay;
 import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
@@ -96,6 +98,18 @@ public interface ObservableMap<T> {
      */
     MobX.DisposerFunction observe(ObserveMapCallback<T> observeMapCallback);
 
+    /**
+     * Registers an interceptor that is called before each change is applied to this map. The
+     * interceptor can return the change as is, return it with a different newValue to rewrite
+     * the value that is stored, or return null to veto the change. Interceptors run in the order
+     * they were registered, and the observe listeners only see the resulting change, so values
+     * can be validated and normalised in one place.
+     *
+     * @param interceptor The InterceptorFn to call before each change
+     * @return A DisposerFunction to remove the interceptor
+     */
+    MobX.DisposerFunction intercept(InterceptorFn<T> interceptor);
+
     /**
      * Copies all entries from the provided ObservableMap into this map
      *
@@ -103,6 +117,17 @@ public interface ObservableMap<T> {
      */
     void merge(ObservableMap<T> toMerge);
 
+    /**
+     * Sets each entry of a map or object encoded by ObservableCodec in this map, as a single
+     * action. The values are decoded straight into this map.
+     *
+     * @param buffer The encoded map or object to merge
+     */
+    @JsOverlay
+    default void merge(ArrayBuffer buffer) {
+        ObservableCodec.merge(this, buffer);
+    }
+
     @JsFunction
     interface ForEachFn<T> {
         void forEach(T value, String key, ObservableMap<T> map);
@@ -113,11 +138,27 @@ public interface ObservableMap<T> {
         void onChange(ChangeInfo<T> info);
     }
 
-    @JsType(isNative = true)
+    @JsFunction
+    interface InterceptorFn<T> {
+        ChangeInfo<T> intercept(ChangeInfo<T> change);
+    }
+
+    /**
+     * A change to an ObservableMap. Adds and updates have a newValue, updates and deletes an
+     * oldValue. The changes passed to an interceptor have no oldValue, as they haven't been
+     * applied yet.
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
     public class ChangeInfo<T> {
         public String name;
         public ObservableMap<T> object;
         public T oldValue;
+        public T newValue;
         public String type;
+
+        @JsOverlay
+        public final ChangeType getChangeType() {
+            return ChangeType.of(type);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package gwt.mobx.client;
+
+/**
+ * Options for MobX.observable
+ */
+public final class ObservableOptions {
+    private boolean deep = true;
+
+    /**
+     * Sets whether values are converted recursively. By default observable converts the whole
+     * object tree, so every nested object and array becomes observable as well. When deep is
+     * false only the top level is made observable and nested values are stored by reference,
+     * which avoids the cost of converting large immutable payloads.
+     *
+     * @param deep false to only make the top level observable
+     * @return This options object
+     */
+    public ObservableOptions deep(boolean deep) {
+        this.deep = deep;
+        return this;
+    }
+
+    Object modify(Object value) {
+        return deep ? value : ValueModifiers.asFlat(value);
+    }
+}
@@ -0,0 +1,283 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.DisposerFunction;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Observes every observable array, map and object reachable from a root, following values as
+ * they are added and removed, and reports each change together with the node it happened in.
+ * This is the basis for the snapshot and patch utilities, which only need to do work in
+ * proportion to the size of a change rather than the size of the tree.
+ *
+ * <p>Nodes are keyed by their MobX administration rather than by the observable itself, as
+ * hashing a JS object adds a property to it that would otherwise show up in its keys.</p>
+ */
+abstract class ObservableTree {
+    enum Kind { ARRAY, MAP, OBJECT }
+
+    private final Map<Object, Node> nodes = new IdentityHashMap<>();
+    final Node root;
+
+    ObservableTree(Object root) {
+        if (!isNode(root)) {
+            throw new IllegalArgumentException("The root must be an observable array, map or object");
+        }
+        this.root = attach(root, null, null);
+    }
+
+    /**
+     * Called after each change to a node in the tree, once the values it added have been
+     * attached to the tree and the values it removed detached
+     *
+     * @param node The node that changed
+     * @param change The change record supplied by MobX
+     */
+    abstract void changed(Node node, Change change);
+
+    /**
+     * Returns the node for value, or null if value isn't an observable in this tree
+     */
+    final Node node(Object value) {
+        return isNode(value) ? nodes.get(identity(value)) : null;
+    }
+
+    /**
+     * Returns the path of keys from the root to node, with array indices as strings, or null if
+     * the node is no longer in the tree. Where a node is reachable by several paths, the one it
+     * was first attached by is used.
+     */
+    final List<String> path(Node node) {
+        List<String> path = new ArrayList<>();
+
+        while (node != root) {
+            if (node.links.isEmpty() || path.size() > nodes.size()) {
+                return null;
+            }
+            Link link = node.links.get(0);
+
+            path.add(0, link.key != null ? link.key : String.valueOf(link.parent.values().indexOf(node.source)));
+            node = link.parent;
+        }
+        return path;
+    }
+
+    /**
+     * Stops observing every node in the tree
+     */
+    void dispose() {
+        for (Node node : nodes.values()) {
+            node.disposer.dispose();
+        }
+        nodes.clear();
+    }
+
+    private Node attach(Object value, Node parent, String key) {
+        if (!isNode(value)) {
+            return null;
+        }
+
+        Object identity = identity(value);
+        Node node = nodes.get(identity);
+
+        if (node == null) {
+            node = new Node(value);
+            nodes.put(identity, node);
+
+            Node attached = node;
+
+            node.disposer = observe(value, change -> onChange(attached, change));
+            node.forEach((child, childKey) -> attach(child, attached, childKey));
+        }
+
+        if (parent != null) {
+            node.links.add(new Link(parent, key));
+        }
+        return node;
+    }
+
+    private void detach(Object value, Node parent) {
+        Node node = node(value);
+
+        if (node == null || node == root) {
+            return;
+        }
+
+        for (int i = 0; i < node.links.size(); i++) {
+            if (node.links.get(i).parent == parent) {
+                node.links.remove(i);
+                break;
+            }
+        }
+
+        if (node.links.isEmpty()) {
+            node.disposer.dispose();
+            nodes.remove(identity(value));
+            node.forEach((child, childKey) -> detach(child, node));
+        }
+    }
+
+    private void onChange(Node node, Change change) {
+        if (change.isSplice()) {
+            for (int i = 0; i < change.addedCount; i++) {
+                attach(change.added.getAt(i), node, null);
+            }
+            for (int i = 0; i < change.removedCount; i++) {
+                detach(change.removed.getAt(i), node);
+            }
+        } else {
+            String key = node.kind == Kind.ARRAY ? null : change.name;
+
+            if (!"delete".equals(change.type)) {
+                attach(change.newValue, node, key);
+            }
+            if (!"add".equals(change.type)) {
+                detach(change.oldValue, node);
+            }
+        }
+        changed(node, change);
+    }
+
+    static boolean isNode(Object value) {
+        return value != null && (MobX.isObservableArray(value) || MobX.isObservableMap(value) || MobX.isObservableObject(value));
+    }
+
+    private static Object identity(Object value) {
+        return MobX.isObservableMap(value) ? value : ((Owner)value).$mobx;
+    }
+
+    static final class Node {
+        final Object source;
+        final Kind kind;
+        final List<Link> links = new ArrayList<>();
+        DisposerFunction disposer;
+
+        /**
+         * The value cached by the owner of the tree for this node, such as its snapshot
+         */
+        Object cache;
+
+        Node(Object source) {
+            this.source = source;
+            this.kind = MobX.isObservableArray(source) ? Kind.ARRAY : MobX.isObservableMap(source) ? Kind.MAP : Kind.OBJECT;
+        }
+
+        /**
+         * Returns the raw values of an array node, without reporting them as observed
+         */
+        @SuppressWarnings("unchecked")
+        Array<Object> values() {
+            return ObservableArrayAdministration.of((ObservableArray<Object>)source).values;
+        }
+
+        /**
+         * Calls visitor with each value and key in the node. Array values have a null key
+         */
+        @SuppressWarnings("unchecked")
+        void forEach(EntryVisitor visitor) {
+            switch (kind) {
+                case ARRAY:
+                    Array<Object> values = values();
+
+                    for (int i = 0; i < values.getLength(); i++) {
+                        visitor.visit(values.getAt(i), null);
+                    }
+                    break;
+                case MAP:
+                    ((ObservableMap<Object>)source).forEach((value, key, map) -> visitor.visit(value, key));
+                    break;
+                default:
+                    JsPlainObj object = (JsPlainObj)source;
+                    Array<String> keys = keys(source);
+
+                    for (int i = 0; i < keys.getLength(); i++) {
+                        String key = keys.getAt(i);
+
+                        if (isObservableProperty(source, key)) {
+                            visitor.visit(object.get(key), key);
+                        }
+                    }
+            }
+        }
+    }
+
+    static final class Link {
+        final Node parent;
+        final String key;
+
+        Link(Node parent, String key) {
+            this.parent = parent;
+            this.key = key;
+        }
+    }
+
+    interface EntryVisitor {
+        void visit(Object value, String key);
+    }
+
+    /**
+     * Returns true if key is an observable, enumerable property of the observable object
+     * source. This excludes computed properties and, for instances of Java classes, the
+     * fields GWT generates for the class itself.
+     */
+    static boolean isObservableProperty(Object source, String key) {
+        return ((Owner)source).$mobx.values.get(key) != null;
+    }
+
+    @JsMethod(namespace = "Object")
+    static native Array<String> keys(Object o);
+
+    @JsMethod(namespace = "Array")
+    static native boolean isArray(Object o);
+
+    @JsMethod(namespace = "MobX")
+    private static native DisposerFunction observe(Object thing, ChangeListener listener);
+
+    @JsFunction
+    interface ChangeListener {
+        void onChange(Change change);
+    }
+
+    /**
+     * Any of the change records MobX reports for arrays, maps and objects. Array changes have
+     * an index, map and object changes a name.
+     */
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    static class Change {
+        public String type;
+        public Object object;
+        public String name;
+        public int index;
+        public Object newValue;
+        public Object oldValue;
+        public Array<Object> added;
+        public Array<Object> removed;
+        public int addedCount;
+        public int removedCount;
+
+        @JsOverlay
+        public final boolean isSplice() {
+            return "splice".equals(type);
+        }
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    private static class Owner {
+        public Administration $mobx;
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    private static class Administration {
+        public JsPlainObj values;
+    }
+}
@@ -0,0 +1,69 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.react.client.components.Component;
+import gwt.react.client.components.ComponentConstructorFn;
+import gwt.react.client.components.ComponentUtils;
+import gwt.react.client.proptypes.BaseProps;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the observer wrapped constructor of each component class, so a class is only passed
+ * to MobXReact.observer once. Calling observer on every render would otherwise re-patch the
+ * component class each time.
+ */
+public final class ObserverRegistry {
+    private static final Map<Class<?>, ComponentConstructorFn<?>> observers = new HashMap<>();
+    private static int hits;
+    private static int misses;
+
+    private ObserverRegistry() {
+    }
+
+    /**
+     * Returns the observer wrapped constructor for the component class, creating it on first use
+     *
+     * @param type The react Component class to make an observer
+     * @param <P> The prop types
+     * @return A wrapped Component class
+     */
+    @SuppressWarnings("unchecked")
+    public static <P extends BaseProps, S extends JsPlainObj, T extends Component<P, S>> ComponentConstructorFn<P> observer(Class<T> type) {
+        ComponentConstructorFn<P> ctorFn = (ComponentConstructorFn<P>)observers.get(type);
+
+        if (ctorFn != null) {
+            hits++;
+            return ctorFn;
+        }
+
+        misses++;
+        ComponentConstructorFn<P> unwrapped = ComponentUtils.getCtorFn(type);
+        ctorFn = MobXReact.observer(unwrapped);
+        observers.put(type, ctorFn);
+        return ctorFn;
+    }
+
+    /**
+     * @return The number of observer lookups that were served from the cache
+     */
+    public static int getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of observer lookups that had to wrap a component class
+     */
+    public static int getMisses() {
+        return misses;
+    }
+
+    /**
+     * Resets the hit and miss counters
+     */
+    public static void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,172 @@
+package gwt.mobx.client;
+
+import com.google.gwt.dom.client.Element;
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobX.ObservableIntValue;
+import gwt.mobx.client.ObservableArray.ArrayChange;
+import gwt.mobx.client.ObservableArray.ArraySplice;
+import gwt.react.client.api.React;
+import gwt.react.client.components.Component;
+import gwt.react.client.components.ComponentConstructorFn;
+import gwt.react.client.elements.ReactElement;
+import gwt.react.client.proptypes.BaseProps;
+import gwt.react.client.proptypes.html.CssProps;
+import gwt.react.client.proptypes.html.HtmlProps;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+import static gwt.react.client.api.GwtReact.castAsReactElement;
+import static gwt.react.client.api.React.DOM.div;
+
+/**
+ * A scrollable list that only renders the rows of an ObservableArray that are inside the
+ * viewport, plus a number of overscan rows above and below it. All rows must have the same
+ * height.
+ *
+ * <p>The list doesn't track the array as a whole. Instead it observes the array changes and
+ * only re-renders when a change affects the rendered rows or the length of the array, so
+ * mutations further down the array don't cause a re-render. Changes to the fields of an entry
+ * are not seen by the list, so the row renderer should render each entry using an observer
+ * component.</p>
+ *
+ * @param <T> The type of Array element
+ */
+@JsType
+public class ObserverVirtualList<T> extends Component<ObserverVirtualList.Props<T>, JsPlainObj> {
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    public static class Props<T> extends BaseProps {
+        /**
+         * The array to render
+         */
+        public ObservableArray<T> items;
+
+        /**
+         * Renders the element for a single entry. The returned element should have a key.
+         */
+        public RowRenderer<T> renderRow;
+
+        /**
+         * The height of each row in px, which must be greater than 0
+         */
+        public int rowHeight;
+
+        /**
+         * The height of the viewport in px
+         */
+        public int height;
+
+        /**
+         * The number of rows rendered above and below the viewport
+         */
+        public int overscan;
+    }
+
+    @JsFunction
+    public interface RowRenderer<T> {
+        ReactElement<?, ?> render(T item, int index);
+    }
+
+    private final ObservableIntValue firstVisibleRow = MobX.observableValue(0);
+    private final ObservableIntValue revision = MobX.observableValue(0);
+    private Element container;
+    private DisposerFunction arrayDisposer;
+    private int firstRendered;
+    private int lastRendered;
+
+    public ObserverVirtualList(Props<T> props) {
+        super(props);
+    }
+
+    public void componentDidMount() {
+        arrayDisposer = props.items.observe(this::onArrayChange);
+    }
+
+    public void componentDidUpdate(Props<T> prevProps) {
+        if (props.items != prevProps.items) {
+            arrayDisposer.dispose();
+            arrayDisposer = props.items.observe(this::onArrayChange);
+        }
+    }
+
+    public void componentWillUnmount() {
+        arrayDisposer.dispose();
+    }
+
+    @Override
+    public ReactElement<?, ?> render() {
+        int rowHeight = props.rowHeight;
+
+        if (rowHeight <= 0) {
+            throw new IllegalArgumentException("rowHeight must be greater than 0");
+        }
+
+        int firstVisible = firstVisibleRow.get();
+        revision.get();
+
+        //peek doesn't report the array as observed, only the revision is tracked
+        Array<T> values = props.items.peek();
+        int length = values.getLength();
+        int visibleRows = (props.height + rowHeight - 1) / rowHeight;
+
+        firstRendered = Math.max(0, Math.min(firstVisible, length) - props.overscan);
+        lastRendered = Math.min(length, firstVisible + visibleRows + props.overscan);
+
+        Array<ReactElement<?, ?>> rows = JsArray.create();
+
+        for (int i = firstRendered; i < lastRendered; i++) {
+            rows.push(props.renderRow.render(values.getAt(i), i));
+        }
+
+        return
+            div(new HtmlProps()
+                    .style(new CssProps().height(px(props.height)).overflowY("auto"))
+                    .onScroll((e) -> onScroll())
+                    .ref((element) -> container = (Element)element),
+                div(new HtmlProps().style(new CssProps().height(px(firstRendered * rowHeight)))),
+                castAsReactElement(rows),
+                div(new HtmlProps().style(new CssProps().height(px((length - lastRendered) * rowHeight))))
+            );
+    }
+
+    private void onScroll() {
+        int firstVisible = container.getScrollTop() / props.rowHeight;
+        MobX.runInAction(() -> firstVisibleRow.set(firstVisible));
+    }
+
+    private void onArrayChange(ArrayChange<T> change) {
+        boolean affectsRenderedRows;
+
+        if (change.isSplice()) {
+            ArraySplice<T> splice = change.asSplice();
+            affectsRenderedRows = splice.index < lastRendered || splice.addedCount != splice.removedCount;
+        } else {
+            affectsRenderedRows = change.index >= firstRendered && change.index < lastRendered;
+        }
+
+        if (affectsRenderedRows) {
+            revision.set(revision.get() + 1);
+        }
+    }
+
+    private static String px(int value) {
+        return value + "px";
+    }
+
+    /**
+     * Creates an ObserverVirtualList element
+     *
+     * @param props The list properties
+     * @param <T> The type of Array element
+     * @return A ReactElement for the list
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ReactElement<Props<T>, ?> virtualList(Props<T> props) {
+        ComponentConstructorFn<Props<T>> ctorFn = (ComponentConstructorFn<Props<T>>)(Object)MobXReact.observer(ObserverVirtualList.class);
+        return React.createElement(ctorFn, props);
+    }
+}
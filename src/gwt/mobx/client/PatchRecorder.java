@@ -0,0 +1,131 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.interop.utils.shared.functional.JsProcedure;
+import gwt.mobx.client.MobXPatches.Patch;
+import jsinterop.annotations.JsMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts the changes to an observable tree into patches, and optionally into the inverse
+ * patches that undo them. The patches are accumulated until they are taken. The owner is told
+ * about the first patch recorded after each take, so it can decide when to take them.
+ */
+class PatchRecorder extends ObservableTree {
+    private final boolean recordInverse;
+    private final JsProcedure onFirstChange;
+    private Array<Patch> patches = JsArray.create();
+    private List<Array<Patch>> inverse = new ArrayList<>();
+
+    /**
+     * @param root The root of the tree to record
+     * @param recordInverse True to also record the inverse patches
+     * @param onFirstChange Called when a patch is recorded and none are pending
+     */
+    PatchRecorder(Object root, boolean recordInverse, JsProcedure onFirstChange) {
+        super(root);
+        this.recordInverse = recordInverse;
+        this.onFirstChange = onFirstChange;
+    }
+
+    boolean isEmpty() {
+        return patches.getLength() == 0;
+    }
+
+    /**
+     * Returns the patches recorded since the previous take, in the order they were made
+     */
+    Array<Patch> takePatches() {
+        Array<Patch> taken = patches;
+
+        patches = JsArray.create();
+        return taken;
+    }
+
+    /**
+     * Returns the patches that undo the changes recorded since the previous take, in the order
+     * they must be applied
+     */
+    Array<Patch> takeInverse() {
+        Array<Patch> taken = JsArray.create();
+
+        for (int i = inverse.size() - 1; i >= 0; i--) {
+            Array<Patch> group = inverse.get(i);
+
+            for (int j = 0; j < group.getLength(); j++) {
+                taken.push(group.getAt(j));
+            }
+        }
+        inverse = new ArrayList<>();
+        return taken;
+    }
+
+    @Override
+    void changed(Node node, Change change) {
+        List<String> path = path(node);
+
+        if (path == null) {
+            return;
+        }
+
+        boolean first = patches.getLength() == 0;
+        String base = MobXPatches.toPointer(path);
+        Array<Patch> undo = recordInverse ? JsArray.create() : null;
+
+        if (change.isSplice()) {
+            for (int i = 0; i < change.removedCount; i++) {
+                patches.push(Patch.create(MobXPatches.REMOVE, base + "/" + change.index, null));
+            }
+            for (int i = 0; i < change.addedCount; i++) {
+                patches.push(Patch.create(MobXPatches.ADD, base + "/" + (change.index + i), toJS(change.added.getAt(i))));
+            }
+
+            if (undo != null) {
+                for (int i = 0; i < change.addedCount; i++) {
+                    undo.push(Patch.create(MobXPatches.REMOVE, base + "/" + change.index, null));
+                }
+                for (int i = 0; i < change.removedCount; i++) {
+                    undo.push(Patch.create(MobXPatches.ADD, base + "/" + (change.index + i), toJS(change.removed.getAt(i))));
+                }
+            }
+        } else {
+            String at = base + "/" + (node.kind == Kind.ARRAY ? String.valueOf(change.index) : MobXPatches.escape(change.name));
+
+            switch (change.type) {
+                case "add":
+                    patches.push(Patch.create(MobXPatches.ADD, at, toJS(change.newValue)));
+
+                    if (undo != null) {
+                        undo.push(Patch.create(MobXPatches.REMOVE, at, null));
+                    }
+                    break;
+                case "delete":
+                    patches.push(Patch.create(MobXPatches.REMOVE, at, null));
+
+                    if (undo != null) {
+                        undo.push(Patch.create(MobXPatches.ADD, at, toJS(change.oldValue)));
+                    }
+                    break;
+                default:
+                    patches.push(Patch.create(MobXPatches.REPLACE, at, toJS(change.newValue)));
+
+                    if (undo != null) {
+                        undo.push(Patch.create(MobXPatches.REPLACE, at, toJS(change.oldValue)));
+                    }
+            }
+        }
+
+        if (undo != null) {
+            inverse.add(undo);
+        }
+        if (first) {
+            onFirstChange.call();
+        }
+    }
+
+    @JsMethod(namespace = "MobX")
+    private static native Object toJS(Object value);
+}
@@ -0,0 +1,126 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import jsinterop.annotations.JsFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes which properties of an object are observable and how their values are stored. A
+ * descriptor is built once, typically as a constant, and then applied to each object with
+ * MobX.decorate or MobX.extendObservable. Each application adds all the described properties
+ * with a single call to MobX, and only converts the values as described, so creating many
+ * entities, for example after loading them from a server, doesn't deep convert each one.
+ *
+ * @param <T> The type of object described
+ */
+public final class PropertyDescriptor<T> {
+    private final List<Property<T>> properties = new ArrayList<>();
+
+    /**
+     * Describes a property whose value is converted recursively, like MobX.observable does
+     *
+     * @param name The name of the property
+     * @return This descriptor
+     */
+    public PropertyDescriptor<T> observable(String name) {
+        return add(name, value -> value);
+    }
+
+    /**
+     * Describes a property whose value is stored by reference, without being converted. Only
+     * assigning a new value is observable. This uses the MobX asReference modifier
+     *
+     * @param name The name of the property
+     * @return This descriptor
+     */
+    public PropertyDescriptor<T> reference(String name) {
+        return add(name, MobX::asReference);
+    }
+
+    /**
+     * Describes a property whose value is compared structurally when it is assigned, so
+     * assigning an equal value isn't reported as a change. This uses the MobX asStructure
+     * modifier
+     *
+     * @param name The name of the property
+     * @return This descriptor
+     */
+    public PropertyDescriptor<T> structure(String name) {
+        return add(name, MobX::asStructure);
+    }
+
+    /**
+     * Describes a property holding an object or array of which only the top level is made
+     * observable. This uses the MobX asFlat modifier
+     *
+     * @param name The name of the property
+     * @return This descriptor
+     */
+    public PropertyDescriptor<T> shallow(String name) {
+        return add(name, MobX::asFlat);
+    }
+
+    /**
+     * Describes a computed property. Each object gets its own computed value, evaluating the
+     * supplied function with the object
+     *
+     * @param name The name of the property
+     * @param fn The function computing the value of the property
+     * @param <R> The type of the computed value
+     * @return This descriptor
+     */
+    public <R> PropertyDescriptor<T> computed(String name, ComputedFn<T, R> fn) {
+        properties.add(new Property<>(name, null, fn));
+        return this;
+    }
+
+    /**
+     * Creates the plain object to pass to extendObservable for target
+     *
+     * @param target The object the properties are added to
+     * @param values The object holding the values of the properties
+     */
+    Object toProps(T target, Object values) {
+        JsPlainObj source = (JsPlainObj)values;
+        JsPlainObj props = new JsPlainObj();
+
+        for (Property<T> property : properties) {
+            if (property.computed != null) {
+                ComputedFn<T, ?> fn = property.computed;
+
+                props.set(property.name, MobX.computed(() -> fn.compute(target)));
+            } else {
+                props.set(property.name, property.modifier.modify(source.get(property.name)));
+            }
+        }
+        return props;
+    }
+
+    private PropertyDescriptor<T> add(String name, Modifier modifier) {
+        properties.add(new Property<>(name, modifier, null));
+        return this;
+    }
+
+    @JsFunction
+    public interface ComputedFn<T, R> {
+        R compute(T target);
+    }
+
+    private interface Modifier {
+        Object modify(Object value);
+    }
+
+    private static final class Property<T> {
+        final String name;
+        final Modifier modifier;
+        final ComputedFn<T, ?> computed;
+
+        Property(String name, Modifier modifier, ComputedFn<T, ?> computed) {
+            this.name = name;
+            this.modifier = modifier;
+            this.computed = computed;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package gwt.mobx.client;
+
+import jsinterop.annotations.JsOverlay;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * Options for MobX.reaction
+ */
+@JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+public class ReactionOptions {
+    /**
+     * The debug name of the reaction
+     */
+    public String name;
+
+    /**
+     * If true, the effect is also run directly after the expression is evaluated for the
+     * first time
+     */
+    public boolean fireImmediately;
+
+    /**
+     * Decides when the reaction re-runs after a dependency changed. If not set, the reaction
+     * re-runs synchronously, like any other MobX reaction.
+     */
+    public MobX.Scheduler scheduler;
+
+    @JsOverlay
+    public final ReactionOptions name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    @JsOverlay
+    public final ReactionOptions fireImmediately(boolean fireImmediately) {
+        this.fireImmediately = fireImmediately;
+        return this;
+    }
+
+    @JsOverlay
+    public final ReactionOptions scheduler(MobX.Scheduler scheduler) {
+        this.scheduler = scheduler;
+        return this;
+    }
+}
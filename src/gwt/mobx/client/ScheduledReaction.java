@@ -0,0 +1,76 @@
+package gwt.mobx.client;
+
+import gwt.mobx.client.MobX.ComputedExpression;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobX.Reaction;
+import gwt.mobx.client.MobX.ReactionEffect;
+import gwt.mobx.client.MobX.Scheduler;
+
+/**
+ * The implementation of MobX.reaction with ReactionOptions. It works like the reaction built
+ * into MobX, except that re-runs are handed to the configured Scheduler. While a run is pending,
+ * further changes to the dependencies don't schedule another run, so a burst of changes is
+ * collapsed into a single evaluation of the expression.
+ */
+class ScheduledReaction<T> {
+    private final ComputedExpression<T> expression;
+    private final ReactionEffect<T> effect;
+    private final Scheduler scheduler;
+    private final Reaction reaction;
+    private boolean isScheduled;
+    private boolean changed;
+    private T value;
+
+    ScheduledReaction(ComputedExpression<T> expression, ReactionEffect<T> effect, ReactionOptions options) {
+        this.expression = expression;
+        this.effect = effect;
+        this.scheduler = options.scheduler;
+
+        String name = options.name != null ? options.name : "ScheduledReaction";
+        reaction = new Reaction(name, this::onInvalidate);
+
+        track();
+        if (options.fireImmediately) {
+            runEffect();
+        }
+    }
+
+    DisposerFunction getDisposer() {
+        return reaction.getDisposer();
+    }
+
+    private void onInvalidate() {
+        if (scheduler == null) {
+            run();
+        } else if (!isScheduled) {
+            isScheduled = true;
+            scheduler.schedule(() -> {
+                isScheduled = false;
+                run();
+            });
+        }
+    }
+
+    private void run() {
+        if (reaction.isDisposed) {
+            return;
+        }
+
+        track();
+        if (changed) {
+            runEffect();
+        }
+    }
+
+    private void track() {
+        reaction.track(() -> {
+            T newValue = expression.compute();
+            changed = newValue != value;
+            value = newValue;
+        });
+    }
+
+    private void runEffect() {
+        MobX.runInAction(reaction.name, () -> effect.run(value));
+    }
+}
@@ -0,0 +1,105 @@
+package gwt.mobx.client;
+
+import com.google.gwt.core.client.Duration;
+import gwt.interop.utils.shared.functional.JsProcedure;
+import gwt.mobx.client.MobX.Scheduler;
+import jsinterop.annotations.JsFunction;
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * Built in Schedulers for use with ReactionOptions
+ */
+public final class Schedulers {
+    static final Timers BROWSER_TIMERS = new Timers() {
+        @Override
+        public double now() {
+            return Duration.currentTimeMillis();
+        }
+
+        @Override
+        public int setTimeout(JsProcedure callback, int delay) {
+            return Schedulers.setTimeout(callback, delay);
+        }
+
+        @Override
+        public void clearTimeout(int timeoutId) {
+            Schedulers.clearTimeout(timeoutId);
+        }
+    };
+
+    private Schedulers() {
+    }
+
+    /**
+     * Runs the reaction before the next repaint using requestAnimationFrame, so the reaction
+     * runs at most once per frame
+     *
+     * @return A Scheduler
+     */
+    public static Scheduler animationFrame() {
+        return (run) -> requestAnimationFrame((timestamp) -> run.call());
+    }
+
+    /**
+     * Runs the reaction in a microtask, after the currently executing code has completed but
+     * before control returns to the browser
+     *
+     * @return A Scheduler
+     */
+    public static Scheduler microtask() {
+        return (run) -> Promise.resolve().then((value) -> run.call());
+    }
+
+    /**
+     * Runs the reaction when the browser is idle using requestIdleCallback. In browsers that
+     * don't support requestIdleCallback a zero delay timeout is used instead
+     *
+     * @return A Scheduler
+     */
+    public static Scheduler idle() {
+        if (getRequestIdleCallback() == null) {
+            return timeout(0);
+        }
+        return (run) -> requestIdleCallback((deadline) -> run.call());
+    }
+
+    /**
+     * Runs the reaction after the given delay, similar to autorunAsync
+     *
+     * @param delay The delay in ms
+     * @return A Scheduler
+     */
+    public static Scheduler timeout(int delay) {
+        return (run) -> setTimeout(run, delay);
+    }
+
+    @JsMethod(namespace = JsPackage.GLOBAL)
+    static native int setTimeout(JsProcedure callback, int delay);
+
+    @JsMethod(namespace = JsPackage.GLOBAL)
+    static native void clearTimeout(int timeoutId);
+
+    @JsMethod(namespace = JsPackage.GLOBAL)
+    private static native int requestAnimationFrame(Callback callback);
+
+    @JsMethod(namespace = JsPackage.GLOBAL)
+    private static native int requestIdleCallback(Callback callback);
+
+    @JsProperty(namespace = JsPackage.GLOBAL, name = "requestIdleCallback")
+    private static native Object getRequestIdleCallback();
+
+    @JsFunction
+    private interface Callback {
+        void call(Object arg);
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL)
+    private static class Promise {
+        public static native Promise resolve();
+
+        public native Promise then(Callback onFulfilled);
+    }
+}
@@ -0,0 +1,98 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.ObservableTree.Node;
+
+/**
+ * Maintains a plain JS snapshot of an observable tree, equivalent to MobX.toJSON, without
+ * walking the whole tree each time a snapshot is taken. The engine observes every observable
+ * array, map and object in the tree and, when one changes, discards the cached snapshot of
+ * that node and of its ancestors only. The next snapshot re-creates those nodes and shares
+ * the snapshots of all the unchanged subtrees by reference with the previous one, so taking
+ * a snapshot after each action costs time in proportion to the depth and width of the changed
+ * nodes rather than the size of the store.
+ *
+ * <p>Snapshots are shared, so they must be treated as immutable. Values that aren't observable
+ * are included as is, as by MobX.toJSON. Call dispose when the engine is no longer needed.</p>
+ *
+ * <pre>
+ * SnapshotEngine engine = new SnapshotEngine(store);
+ * ...
+ * JsPlainObj snapshot = engine.getSnapshot();
+ * </pre>
+ */
+public class SnapshotEngine {
+    private final ObservableTree tree;
+
+    /**
+     * Creates a SnapshotEngine for the tree below root
+     *
+     * @param root The observable array, map or object to snapshot
+     */
+    public SnapshotEngine(Object root) {
+        tree = new ObservableTree(root) {
+            @Override
+            void changed(Node node, Change change) {
+                invalidate(node);
+            }
+        };
+    }
+
+    /**
+     * Returns a snapshot of the current state of the tree. Subtrees that haven't changed since
+     * the previous snapshot are the same objects as in the previous snapshot.
+     *
+     * @param <O> The type of the snapshot, a plain object or array
+     * @return The snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public <O> O getSnapshot() {
+        return (O)snapshot(tree.root);
+    }
+
+    /**
+     * Stops observing the tree. The engine can't be used afterwards
+     */
+    public void dispose() {
+        tree.dispose();
+    }
+
+    private static void invalidate(Node node) {
+        if (node.cache == null) {
+            return;
+        }
+        node.cache = null;
+
+        for (ObservableTree.Link link : node.links) {
+            invalidate(link.parent);
+        }
+    }
+
+    private Object snapshot(Node node) {
+        if (node.cache != null) {
+            return node.cache;
+        }
+
+        //The snapshot is cached before its entries are added so cycles refer back to it
+        if (node.kind == ObservableTree.Kind.ARRAY) {
+            Array<Object> result = JsArray.create();
+
+            node.cache = result;
+            node.forEach((value, key) -> result.push(value(value)));
+        } else {
+            JsPlainObj result = new JsPlainObj();
+
+            node.cache = result;
+            node.forEach((value, key) -> result.set(key, value(value)));
+        }
+        return node.cache;
+    }
+
+    private Object value(Object value) {
+        Node node = tree.node(value);
+
+        return node != null ? snapshot(node) : value;
+    }
+}
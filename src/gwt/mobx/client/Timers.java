@@ -0,0 +1,41 @@
+package gwt.mobx.client;
+
+import gwt.interop.utils.shared.functional.JsProcedure;
+
+/**
+ * The clock and timeouts used by the time based utilities, such as the rate limiting operators
+ * and the expiry of ObservableLruMap entries. Supply your own implementation to control the
+ * passing of time, for example in tests.
+ */
+public interface Timers {
+
+    /**
+     * @return The current time in ms
+     */
+    double now();
+
+    /**
+     * Calls callback once, after the given delay
+     *
+     * @param callback The function to call
+     * @param delay The delay in ms
+     * @return An id that can be passed to clearTimeout
+     */
+    int setTimeout(JsProcedure callback, int delay);
+
+    /**
+     * Cancels a timeout that hasn't run yet
+     *
+     * @param timeoutId The id returned by setTimeout
+     */
+    void clearTimeout(int timeoutId);
+
+    /**
+     * Returns the Timers using the browser's clock and setTimeout
+     *
+     * @return A Timers
+     */
+    static Timers browser() {
+        return Schedulers.BROWSER_TIMERS;
+    }
+}
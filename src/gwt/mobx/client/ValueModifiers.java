@@ -0,0 +1,33 @@
+package gwt.mobx.client;
+
+import jsinterop.annotations.JsMethod;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * Untyped access to the MobX modifier functions. A modifier wraps a value in a plain
+ * object which MobX unwraps, so the wrapped value must never be cast back to its Java type.
+ */
+@JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "MobX")
+class ValueModifiers {
+    public static native Object asReference(Object value);
+
+    public static native Object asStructure(Object value);
+
+    public static native Object asFlat(Object value);
+
+    /**
+     * @return The asReference function itself, for use as a map value modifier
+     */
+    @JsProperty(name = "asReference")
+    public static native Object asReferenceModifier();
+
+    @JsMethod(name = "observable")
+    public static native Object observableModified(Object modifiedValue);
+
+    public static native <T> ObservableMap<T> map(Object initialValues, Object valueModifier);
+
+    @JsMethod(name = "computed")
+    public static native <T> MobX.ComputedValue<T> computedModified(Object modifiedExprFn);
+}
@@ -0,0 +1,21 @@
+package gwt.mobx.client.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as an action. The subclass generated by the ObservableProcessor overrides the
+ * method to run the original method in MobX.runInAction, named after the class and method.
+ *
+ * <p>The method must not be private, final or static.</p>
+ *
+ * @see Observable
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface Action {
+}
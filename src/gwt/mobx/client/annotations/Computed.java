@@ -0,0 +1,23 @@
+package gwt.mobx.client.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as a computed value. The subclass generated by the ObservableProcessor
+ * overrides the method to return the value of a MobX computed, created when the method is first
+ * called, which evaluates the original method.
+ *
+ * <p>The method must have no parameters, must return a value, and must not be private, final
+ * or static.</p>
+ *
+ * @see Observable
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface Computed {
+}
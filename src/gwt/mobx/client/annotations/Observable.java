@@ -0,0 +1,29 @@
+package gwt.mobx.client.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field as observable, or on a class, all of its instance fields that are neither
+ * final nor transient. For each class using these annotations the ObservableProcessor generates
+ * a subclass named Observable followed by the class name, which must be instantiated instead of
+ * the class itself.
+ *
+ * <p>The subclass stores the observable fields as observable properties of the instance, by
+ * passing their initial values to MobX.extendObservable, and overrides the getter and setter of
+ * each field to read and write the property. Observable fields must therefore only be accessed
+ * through their getters and setters once the object has been constructed. Objects and arrays
+ * are stored by reference, so assigning a new value is observable but changes inside the
+ * value are not.</p>
+ *
+ * <p>Observable fields must not be private, and their getters and setters must not be private
+ * or final.</p>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.TYPE, ElementType.FIELD})
+public @interface Observable {
+}
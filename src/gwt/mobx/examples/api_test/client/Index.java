@@ -9,6 +9,7 @@ public class Index implements EntryPoint{
     public void onModuleLoad() {
         new MobXTests().run();
         new ObservableMapTests().run();
+        new ObservableArrayTests().run();
         Window.alert("All tests passed");
     }
 }
@@ -0,0 +1,89 @@
+package gwt.react.mobx.api_test.client;
+
+import gwt.interop.utils.shared.functional.JsProcedure;
+import gwt.mobx.client.Timers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Timers whose clock only moves when advance is called, so tests can control when timeouts run
+ */
+public class ManualTimers implements Timers {
+    private final List<Timeout> pending = new ArrayList<>();
+    private double now;
+    private int nextId;
+
+    @Override
+    public double now() {
+        return now;
+    }
+
+    @Override
+    public int setTimeout(JsProcedure callback, int delay) {
+        Timeout timeout = new Timeout(nextId++, now + delay, callback);
+
+        pending.add(timeout);
+        return timeout.id;
+    }
+
+    @Override
+    public void clearTimeout(int timeoutId) {
+        Iterator<Timeout> it = pending.iterator();
+
+        while (it.hasNext()) {
+            if (it.next().id == timeoutId) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @return The number of timeouts that haven't run or been cleared
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Moves the clock forward, running the timeouts that become due in the order they are due.
+     * Timeouts set by those timeouts are run too if they are due within the time advanced.
+     *
+     * @param ms The time to advance the clock by
+     */
+    public void advance(double ms) {
+        double target = now + ms;
+
+        while (true) {
+            Timeout next = null;
+
+            for (Timeout timeout : pending) {
+                if (timeout.due <= target && (next == null || timeout.due < next.due)) {
+                    next = timeout;
+                }
+            }
+
+            if (next == null) {
+                break;
+            }
+
+            pending.remove(next);
+            now = next.due;
+            next.callback.call();
+        }
+        now = target;
+    }
+
+    private static final class Timeout {
+        final int id;
+        final double due;
+        final JsProcedure callback;
+
+        Timeout(int id, double due, JsProcedure callback) {
+            this.id = id;
+            this.due = due;
+            this.callback = callback;
+        }
+    }
+}
@@ -1,11 +1,32 @@
 package gwt.react.mobx.api_test.client;
 
 import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.functional.JsProcedure;
 import gwt.interop.utils.shared.collections.Array;
 import gwt.interop.utils.client.plainobjects.JsPlainObj;
+import gwt.mobx.client.ComputedOptions;
+import gwt.mobx.client.DependencyGraph;
 import gwt.mobx.client.MobX;
 import gwt.mobx.client.MobX.*;
+import gwt.mobx.client.MobXMetrics;
+import gwt.mobx.client.MobXMetrics.MetricsEntry;
+import gwt.mobx.client.MobXOperators;
+import gwt.mobx.client.MobXOperators.RateLimitedValue;
+import gwt.mobx.client.MobXHistory;
+import gwt.mobx.client.MobXPatches;
+import gwt.mobx.client.MobXPatches.Patch;
 import gwt.mobx.client.ObservableArray;
+import gwt.mobx.client.ObservableMap;
+import gwt.mobx.client.ObservableOptions;
+import gwt.mobx.client.ObserverRegistry;
+import gwt.mobx.client.ObserverVirtualList;
+import gwt.mobx.client.PropertyDescriptor;
+import gwt.mobx.client.SnapshotEngine;
+import gwt.mobx.client.ReactionOptions;
+import gwt.react.client.components.Component;
+import gwt.react.client.components.ComponentConstructorFn;
+import gwt.react.client.elements.ReactElement;
+import gwt.react.client.proptypes.BaseProps;
 import jsinterop.annotations.JsOverlay;
 import jsinterop.annotations.JsPackage;
 import jsinterop.annotations.JsType;
@@ -31,9 +52,9 @@ public class MobXTests {
         }
     }
 
-    ObservableValue<Boolean> observedBoolean = MobX.observableValue(true);
+    ObservableBooleanValue observedBoolean = MobX.observableBooleanValue(true);
     ObservableIntValue observedInt = MobX.observableValue(1);
-    ObservableValue<Double> observedDouble = MobX.observableValue(10.0);
+    ObservableDoubleValue observedDouble = MobX.observableDoubleValue(10.0);
     ObservableValue<String> observedFirstName = MobX.observableValue("Paul");
     ObservableValue<String> observedLastName = MobX.observableValue("Stockley");
     ObservableArray<String> observedArray = MobX.observable(makeArray(3));
@@ -41,11 +62,11 @@ public class MobXTests {
 
     ComputedValue<String> computedFullName = MobX.computed(() -> observedFirstName.get() + " " + observedLastName.get());
 
-    ComputedValue<Boolean> computedBooleanValue = MobX.computed(() -> !observedBoolean.get());
+    ComputedBooleanValue computedBooleanValue = MobX.computed((ComputedBooleanExpression)() -> !observedBoolean.get());
 
     ComputedIntValue computedIntValue = MobX.computed((ComputedIntExpression)() -> observedInt.get() + 1000);
 
-    ComputedValue<Double> computedDoubleValue = MobX.computed(() -> observedDouble.get() + 1000.0);
+    ComputedDoubleValue computedDoubleValue = MobX.computed((ComputedDoubleExpression)() -> observedDouble.get() + 1000.0);
 
     StringBuilder logBuffer = new StringBuilder();
 
@@ -62,8 +83,22 @@ public class MobXTests {
         testComputedBoolean();
         testComputedInt();
         testComputedDouble();
+        testComputedWithComparer();
 
         testWhen();
+        testReaction();
+        testScheduledReaction();
+        testOperators();
+        testMetrics();
+        testDependencyGraph();
+        testShallowModifiers();
+        testObservableClass();
+        testPropertyDescriptor();
+        testSnapshotEngine();
+        testPatches();
+        testHistory();
+        testObserverRegistry();
+        testVirtualList();
     }
 
     private void testWhen() {
@@ -76,6 +111,38 @@ public class MobXTests {
         whenDisposer.dispose();
     }
 
+    private void testReaction() {
+        DisposerFunction disposer = MobX.reaction(() -> observedFirstName.get(), (name) -> log("name=" + name));
+
+        clearLogBuffer();
+        observedLastName.set("Smith");
+        observedFirstName.set("Fred");
+        assertLogBuffer("name=Fred");
+        disposer.dispose();
+    }
+
+    private void testScheduledReaction() {
+        final Array<JsProcedure> pendingRuns = JsArray.create();
+
+        DisposerFunction disposer = MobX.reaction(
+            () -> observedFirstName.get() + " " + observedLastName.get(),
+            (name) -> log("name=" + name),
+            new ReactionOptions().scheduler(pendingRuns::push));
+
+        clearLogBuffer();
+        observedFirstName.set("Tom");
+        observedLastName.set("Jones");
+        observedFirstName.set("Tim");
+
+        //All the changes are collapsed into a single scheduled run
+        assert(pendingRuns.getLength() == 1);
+        assertLogBuffer("");
+
+        pendingRuns.pop().call();
+        assertLogBuffer("name=Tim Jones");
+        disposer.dispose();
+    }
+
     private void testObservedArray() {
         String arrayVal = toString(observedArray);
         assert(arrayVal.equals("Value0,Value1,Value2"));
@@ -109,6 +176,13 @@ public class MobXTests {
 
     private void testObservedDouble() {
         assert(observedDouble.get() == 10F);
+
+        //observableValue still creates a boxed value for double and boolean
+        ObservableValue<Double> boxedDouble = MobX.observableValue(10.0);
+        ObservableValue<Boolean> boxedBoolean = MobX.observableValue(true);
+
+        assert(boxedDouble.get() == 10.0);
+        assert(boxedBoolean.get());
     }
 
     private void testObservedString() {
@@ -168,6 +242,500 @@ public class MobXTests {
         assert(computedBooleanValue.get() == true);
     }
 
+    private void testComputedWithComparer() {
+        ObservableArray<String> names = MobX.observable(makeArray(3));
+        ComputedValue<Array<String>> shortNames = MobX.computed(
+            () -> names.filter((name) -> name.length() < 7),
+            ComputedOptions.shallowArray());
+
+        DisposerFunction disposer = shortNames.observe((newValue, oldValue) -> log("shortNames=" + toString(newValue)), false);
+
+        clearLogBuffer();
+        //The filtered result contains the same entries, so observers aren't notified
+        names.push("LongValue");
+        assertLogBuffer("");
+
+        names.push("Short");
+        assertLogBuffer("shortNames=Value0,Value1,Value2,Short");
+        disposer.dispose();
+    }
+
+    private void testOperators() {
+        ManualTimers timers = new ManualTimers();
+        ObservableValue<String> typed = MobX.observableValue("a");
+        RateLimitedValue<String> debounced = MobXOperators.debounce(MobX.computed(typed::get), 100, timers);
+        DisposerFunction debounceObserver = debounced.observe((newValue, oldValue) -> log("debounced=" + newValue), false);
+
+        //Changes are coalesced until the source has been stable for the delay
+        clearLogBuffer();
+        typed.set("b");
+        timers.advance(50);
+        typed.set("c");
+        timers.advance(50);
+        assertLogBuffer("");
+        assert(debounced.get().equals("a"));
+
+        timers.advance(50);
+        assertLogBuffer("debounced=c");
+        assert(debounced.get().equals("c"));
+
+        ObservableValue<String> position = MobX.observableValue("0");
+        RateLimitedValue<String> throttled = MobXOperators.throttle(MobX.computed(position::get), 100, timers);
+        DisposerFunction throttleObserver = throttled.observe((newValue, oldValue) -> log("throttled=" + newValue), false);
+
+        //The first change is applied straight away, the last one of an interval when it ends
+        clearLogBuffer();
+        position.set("1");
+        position.set("2");
+        position.set("3");
+        assertLogBuffer("throttled=1");
+
+        timers.advance(100);
+        assertLogBuffer("throttled=1,throttled=3");
+
+        timers.advance(100);
+        position.set("4");
+        assertLogBuffer("throttled=1,throttled=3,throttled=4");
+
+        //Disposing cancels the pending timer and stops observing the source
+        typed.set("d");
+        assert(timers.getPendingCount() == 2);
+        debounced.dispose();
+        throttled.dispose();
+        assert(timers.getPendingCount() == 0);
+
+        clearLogBuffer();
+        typed.set("e");
+        position.set("5");
+        timers.advance(200);
+        assertLogBuffer("");
+        assert(timers.getPendingCount() == 0);
+        assert(debounced.get().equals("c") && throttled.get().equals("4"));
+
+        debounceObserver.dispose();
+        throttleObserver.dispose();
+    }
+
+    private void testMetrics() {
+        MobXMetrics metrics = new MobXMetrics();
+        DisposerFunction disposer = MobX.autorun(() -> log("computedInt=" + computedIntValue.get()));
+
+        MobX.runInAction("increment", () -> observedInt.set(observedInt.get() + 1));
+        MobX.runInAction("increment", () -> observedInt.set(observedInt.get() + 1));
+        disposer.dispose();
+        metrics.dispose();
+
+        //Each action recomputes the computed value and re-runs the autorun once
+        MetricsEntry increment = findEntry(metrics.snapshot(), MobXMetrics.ACTION, "increment");
+        assert(increment.count == 2);
+        assert(increment.reactions == 2);
+        assert(increment.computations == 2);
+    }
+
+    private void testDependencyGraph() {
+        DisposerFunction disposer = MobX.autorun(() -> log("fullName=" + computedFullName.get()));
+
+        DependencyGraph graph = new DependencyGraph();
+        DependencyGraph.Node firstName = graph.add(observedFirstName);
+        DependencyGraph.Node autorun = graph.add(disposer);
+        DependencyGraph.Node fullName = graph.add(computedFullName);
+
+        //The first and last names, the computed full name and the autorun
+        assert(graph.getNodes().size() == 4);
+        assert(firstName.getDepth() == 0 && firstName.getFanOut() == 1);
+        assert(fullName.getFanIn() == 2 && fullName.getFanOut() == 1 && fullName.getDepth() == 1);
+        assert(autorun.getFanIn() == 1 && autorun.getFanOut() == 0 && autorun.getDepth() == 2);
+        assert(graph.findByFanIn(2).get(0) == fullName);
+        disposer.dispose();
+    }
+
+    private void testShallowModifiers() {
+        DataObject payload = DataObject.make(1, "Payload", true, makeArray(2));
+
+        //Only the top level is observable, nested values are stored as is
+        ObservableArray<DataObject> shallowArray = MobX.observableShallow(arrayOf(payload));
+        assert(shallowArray.getAt(0) == payload);
+        assert(!MobX.isObservable(payload));
+
+        ObservableValue<DataObject> ref = MobX.observableRef(payload);
+        assert(ref.get() == payload);
+
+        ObservableMap<DataObject> shallowMap = MobX.observableShallowMap();
+        shallowMap.set("payload", payload);
+        assert(shallowMap.get("payload") == payload);
+        assert(!MobX.isObservable(payload));
+
+        DataObject shallowObj = MobX.observable(DataObject.make(2, "Shallow", false, makeArray(2)), new ObservableOptions().deep(false));
+        assert(MobX.isObservable(shallowObj, "arrayField"));
+        assert(!MobX.isObservable(shallowObj.arrayField));
+
+        DataObject deepObj = MobX.observable(DataObject.make(3, "Deep", false, makeArray(2)), new ObservableOptions());
+        assert(MobX.isObservable(deepObj.arrayField));
+    }
+
+    private void testObservableClass() {
+        TodoModel todo = new ObservableTodoModel("Write tests");
+
+        assert(MobX.isObservable(todo, "text"));
+        assert(todo.getLabel().equals("[ ] Write tests"));
+
+        final StringBuilder testAutorun = new StringBuilder();
+
+        DisposerFunction disposer = MobX.autorun(() -> {
+            testAutorun.append(todo.getLabel()).append(",").append(todo.getEdits()).append(" ");
+        });
+
+        //An action runs as a single transaction
+        todo.edit("Run tests");
+        todo.setCompleted(true);
+        todo.setEdits(todo.getEdits());
+
+        assert(testAutorun.toString().equals("[ ] Write tests,0 [ ] Run tests,1 [x] Run tests,1 "));
+
+        disposer.dispose();
+
+        //Values set through the accessors in the constructor are kept once it is observable
+        TodoModel edited = new ObservableTodoModel("Edited", 2);
+
+        assert(MobX.isObservable(edited, "edits"));
+        assert(edited.getText().equals("Edited") && edited.getEdits() == 2);
+
+        testAutorun.setLength(0);
+        disposer = MobX.autorun(() -> testAutorun.append(edited.getLabel()).append(" "));
+        edited.setText("Edited again");
+        assert(testAutorun.toString().equals("[ ] Edited [ ] Edited again "));
+        disposer.dispose();
+    }
+
+    private void testPropertyDescriptor() {
+        PropertyDescriptor<DataObject> descriptor = new PropertyDescriptor<DataObject>()
+                .observable("intField")
+                .structure("stringField")
+                .reference("arrayField")
+                .computed("label", o -> o.stringField + o.intField);
+
+        //Only the described properties are made observable, without deep conversion
+        DataObject entity = MobX.decorate(DataObject.make(1, "Entity", true, makeArray(2)), descriptor);
+        assert(MobX.isObservable(entity, "intField"));
+        assert(MobX.isObservable(entity, "arrayField"));
+        assert(!MobX.isObservable(entity.arrayField));
+        assert(entity.stringField.equals("Entity"));
+
+        final StringBuilder testAutorun = new StringBuilder();
+
+        DisposerFunction disposer = MobX.autorun(() -> {
+            testAutorun.append(entity.<String>get("label")).append(" ");
+        });
+
+        entity.intField = 2;
+        entity.booleanField = false;
+
+        assert(testAutorun.toString().equals("Entity1 Entity2 "));
+        disposer.dispose();
+
+        DataObject extended = MobX.extendObservable(new DataObject(), descriptor, DataObject.make(3, "Extended", false, makeArray(1)));
+        assert(MobX.isObservable(extended, "stringField"));
+        assert(!MobX.isObservable(extended, "booleanField"));
+        assert(extended.<String>get("label").equals("Extended3"));
+    }
+
+    private void testSnapshotEngine() {
+        ObservableMap<DataObject> entities = MobX.map();
+        entities.set("a", DataObject.make(1, "A", true, makeArray(2)));
+        entities.set("b", DataObject.make(2, "B", false, makeArray(1)));
+
+        SnapshotEngine engine = new SnapshotEngine(entities);
+
+        JsPlainObj first = engine.getSnapshot();
+        DataObject a = first.get("a");
+        DataObject b = first.get("b");
+        assert(a.intField == 1 && a.arrayField.getLength() == 2);
+        assert(!MobX.isObservable(a) && !MobX.isObservable(a.arrayField));
+        assert(engine.getSnapshot() == first);
+
+        //Only the changed entity is re-created, everything else is shared
+        entities.get("a").intField = 10;
+
+        JsPlainObj second = engine.getSnapshot();
+        assert(second != first);
+        assert(second.<DataObject>get("a").intField == 10);
+        assert(second.<DataObject>get("a").arrayField == a.arrayField);
+        assert(second.get("b") == b);
+
+        DataObject removed = entities.get("a");
+        entities.delete("a");
+        entities.get("b").arrayField.push("Added");
+
+        JsPlainObj third = engine.getSnapshot();
+        assert(third.get("a") == null);
+        assert(third.<DataObject>get("b").arrayField.getLength() == 2);
+        assert(b.arrayField.getLength() == 1);
+
+        //Removed values are no longer observed
+        removed.intField = 11;
+        assert(engine.getSnapshot() == third);
+
+        engine.dispose();
+    }
+
+    private void testPatches() {
+        ObservableMap<DataObject> store = MobX.map();
+        store.set("a/b", DataObject.make(1, "A", true, makeArray(2)));
+
+        ObservableMap<DataObject> replica = MobX.map();
+        replica.set("a/b", DataObject.make(1, "A", true, makeArray(2)));
+
+        Array<Array<Patch>> batches = JsArray.create();
+        DisposerFunction disposer = MobXPatches.record(store, batches::push);
+
+        //An action produces a single list of patches
+        MobX.runInAction(() -> {
+            DataObject entity = store.get("a/b");
+
+            entity.intField = 5;
+            entity.arrayField.push("Value2");
+            ((ObservableArray<String>)entity.arrayField).spliceWithArray(0, 1, JsArray.create());
+            store.set("c", DataObject.make(3, "C", false, makeArray(1)));
+        });
+
+        assert(batches.getLength() == 1);
+
+        Array<Patch> patches = batches.getAt(0);
+        assert(patches.getLength() == 4);
+        assert(patches.getAt(0).op.equals(MobXPatches.REPLACE) && patches.getAt(0).path.equals("/a~1b/intField"));
+        assert(patches.getAt(1).op.equals(MobXPatches.ADD) && patches.getAt(1).path.equals("/a~1b/arrayField/2"));
+        assert(patches.getAt(2).op.equals(MobXPatches.REMOVE) && patches.getAt(2).path.equals("/a~1b/arrayField/0"));
+        assert(!MobX.isObservable(patches.getAt(3).value));
+
+        MobXPatches.applyPatches(replica, patches);
+        assert(replica.get("a/b").intField == 5);
+        assert(toString(replica.get("a/b").arrayField).equals("Value1,Value2"));
+        assert(replica.get("c").stringField.equals("C"));
+
+        //Changes outside of an action are passed on one at a time
+        store.delete("c");
+        store.get("a/b").stringField = "B";
+        assert(batches.getLength() == 3);
+
+        MobXPatches.applyPatches(replica, batches.getAt(1));
+        MobXPatches.applyPatches(replica, batches.getAt(2));
+        assert(!replica.has("c"));
+        assert(replica.get("a/b").stringField.equals("B"));
+
+        disposer.dispose();
+        store.get("a/b").intField = 6;
+        assert(batches.getLength() == 3);
+    }
+
+    private void testHistory() {
+        ObservableMap<DataObject> store = MobX.map();
+        store.set("a", DataObject.make(1, "A", true, makeArray(2)));
+
+        MobXHistory history = new MobXHistory(store, 1 << 20, true);
+        assert(!history.canUndo() && !history.canRedo());
+
+        //Consecutive actions with the same name are coalesced
+        MobX.runInAction("rename", () -> store.get("a").stringField = "B");
+        MobX.runInAction("rename", () -> store.get("a").stringField = "C");
+        MobX.runInAction("add", () -> {
+            store.set("b", DataObject.make(2, "X", false, makeArray(0)));
+            store.get("a").arrayField.push("Value2");
+        });
+        assert(history.getUndoName().equals("add"));
+
+        history.undo();
+        assert(!store.has("b") && store.get("a").arrayField.getLength() == 2);
+        assert(history.getUndoName().equals("rename") && history.getRedoName().equals("add"));
+
+        history.undo();
+        assert(store.get("a").stringField.equals("A"));
+        assert(!history.canUndo());
+
+        history.redo();
+        history.redo();
+        assert(store.get("a").stringField.equals("C") && store.get("b").stringField.equals("X"));
+        assert(toString(store.get("a").arrayField).equals("Value0,Value1,Value2"));
+        assert(!history.canRedo());
+
+        //A new change discards the entries that were undone
+        history.undo();
+        store.get("a").intField = 5;
+        assert(!history.canRedo() && history.getUndoName() == null);
+
+        history.undo();
+        assert(store.get("a").intField == 1);
+        history.dispose();
+
+        //Only the most recent entry fits within the budget
+        MobXHistory small = new MobXHistory(store, 1, false);
+
+        MobX.runInAction("first", () -> store.get("a").intField = 2);
+        MobX.runInAction("second", () -> store.get("a").intField = 3);
+
+        small.undo();
+        assert(store.get("a").intField == 2 && !small.canUndo());
+        small.dispose();
+
+        //Changes made by reactions while an entry is applied aren't recorded, so here undoing
+        //renameA deletes b behind the history's back and undoing renameB then fails
+        ObservableMap<DataObject> other = MobX.map();
+        other.set("a", DataObject.make(1, "A", true, makeArray(0)));
+        other.set("b", DataObject.make(2, "B", true, makeArray(0)));
+
+        MobXHistory failing = new MobXHistory(other, 1 << 20, false);
+
+        MobX.runInAction("renameB", () -> other.get("b").stringField = "C");
+        MobX.runInAction("renameA", () -> other.get("a").stringField = "D");
+
+        DisposerFunction disposer = MobX.autorun(() -> {
+            if (other.get("a").stringField.equals("A")) {
+                other.delete("b");
+            }
+        });
+
+        failing.undo();
+        assert(!other.has("b"));
+
+        //The entry that failed to apply is kept, rather than being lost
+        boolean rejected = false;
+        try {
+            failing.undo();
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assert(rejected);
+        assert(failing.getUndoName().equals("renameB") && failing.getRedoName().equals("renameA"));
+
+        disposer.dispose();
+        failing.dispose();
+    }
+
+    private void testObserverRegistry() {
+        ObserverRegistry.resetCounters();
+
+        ComponentConstructorFn<BaseProps> first = ObserverRegistry.observer(TestComponent.class);
+        assert(ObserverRegistry.getMisses() == 1 && ObserverRegistry.getHits() == 0);
+
+        ComponentConstructorFn<BaseProps> second = ObserverRegistry.observer(TestComponent.class);
+        assert(second == first);
+        assert(ObserverRegistry.getMisses() == 1 && ObserverRegistry.getHits() == 1);
+
+        ObserverRegistry.resetCounters();
+        assert(ObserverRegistry.getMisses() == 0 && ObserverRegistry.getHits() == 0);
+    }
+
+    private void testVirtualList() {
+        ObservableArray<String> items = MobX.observable(makeArray(20));
+        ObserverVirtualList.Props<String> props = new ObserverVirtualList.Props<>();
+
+        props.items = items;
+        props.rowHeight = 10;
+        props.height = 30;
+        props.overscan = 1;
+        props.renderRow = (item, index) -> {
+            log(item);
+            return null;
+        };
+
+        //The list is rendered by an autorun rather than by React, so each run is a re-render
+        ObserverVirtualList<String> list = new ObserverVirtualList<>(props);
+
+        clearLogBuffer();
+        DisposerFunction disposer = MobX.autorun(() -> {
+            log("render");
+            list.render();
+        });
+
+        list.componentDidMount();
+        assertLogBuffer("render,Value0,Value1,Value2,Value3");
+
+        //Changes below the rendered rows that don't change the length don't re-render
+        clearLogBuffer();
+        items.setAt(10, "Below");
+        items.spliceWithArray(15, 1, makeArray(1));
+        assertLogBuffer("");
+
+        items.setAt(2, "Inside");
+        assertLogBuffer("render,Value0,Value1,Inside,Value3");
+
+        clearLogBuffer();
+        items.push("Appended");
+        assertLogBuffer("render,Value0,Value1,Inside,Value3");
+
+        //Replacing the items follows the changes to the new array instead
+        ObservableArray<String> replacement = MobX.observable(makeArray(2));
+        ObserverVirtualList.Props<String> newProps = copyProps(props);
+        newProps.items = replacement;
+        ((JsPlainObj)(Object)list).set("props", newProps);
+        list.componentDidUpdate(props);
+
+        clearLogBuffer();
+        items.setAt(0, "Old");
+        assertLogBuffer("");
+
+        replacement.setAt(0, "New");
+        assertLogBuffer("render,New,Value1");
+
+        //A row height of 0 would divide by zero
+        ObserverVirtualList.Props<String> noHeight = copyProps(newProps);
+        noHeight.rowHeight = 0;
+        ((JsPlainObj)(Object)list).set("props", noHeight);
+
+        boolean rejected = false;
+        try {
+            list.render();
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assert(rejected);
+
+        list.componentWillUnmount();
+        disposer.dispose();
+    }
+
+    private static ObserverVirtualList.Props<String> copyProps(ObserverVirtualList.Props<String> props) {
+        ObserverVirtualList.Props<String> copy = new ObserverVirtualList.Props<>();
+
+        copy.items = props.items;
+        copy.renderRow = props.renderRow;
+        copy.rowHeight = props.rowHeight;
+        copy.height = props.height;
+        copy.overscan = props.overscan;
+        return copy;
+    }
+
+    @JsType
+    public static class TestComponent extends Component<BaseProps, JsPlainObj> {
+        public TestComponent(BaseProps props) {
+            super(props);
+        }
+
+        public ReactElement<?, ?> render() {
+            return null;
+        }
+    }
+
+    @SafeVarargs
+    private static <T> Array<T> arrayOf(T... items) {
+        Array<T> array = JsArray.create();
+
+        for (T item : items) {
+            array.push(item);
+        }
+        return array;
+    }
+
+    private MetricsEntry findEntry(Array<MetricsEntry> entries, String kind, String name) {
+        for (int i = 0; i < entries.getLength(); i++) {
+            MetricsEntry entry = entries.getAt(i);
+
+            if (entry.kind.equals(kind) && entry.name.equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
     private void clearLogBuffer() {
         logBuffer = new StringBuilder();
     }
@@ -0,0 +1,349 @@
+package gwt.react.mobx.api_test.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.interop.utils.shared.functional.JsProcedure;
+import gwt.mobx.client.MobX;
+import gwt.mobx.client.LazyObservableArray;
+import gwt.mobx.client.MobX.ComputedDoubleValue;
+import gwt.mobx.client.MobX.ComputedIntValue;
+import gwt.mobx.client.MobX.ComputedValue;
+import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.MobX.ObservableIntValue;
+import gwt.mobx.client.MobX.ObservableValue;
+import gwt.mobx.client.ObservableArray;
+import gwt.mobx.client.ObservableArray.ArraySplice;
+import gwt.mobx.client.ObservableAggregates;
+import gwt.mobx.client.ObservableArrays;
+import gwt.mobx.client.ObservableIndex;
+import gwt.mobx.client.ObservableMap;
+
+import java.util.function.Function;
+
+public class ObservableArrayTests {
+
+    public void run() {
+        testObserve();
+        testBulkMutations();
+        testIndex();
+        testLazyArray();
+        testLazyArrayFailedLoad();
+        testDerivedArrays();
+        testAggregates();
+    }
+
+    private void testObserve() {
+        ObservableArray<String> testArray = MobX.observable(makeArray("a", "b"));
+
+        final StringBuilder testObserve = new StringBuilder();
+
+        DisposerFunction disposer = testArray.observe((change) -> {
+            testObserve.append(change.type);
+            testObserve.append(",");
+            testObserve.append(change.object == testArray);
+            testObserve.append(",");
+            testObserve.append(change.index);
+
+            if (change.isSplice()) {
+                ArraySplice<String> splice = change.asSplice();
+                testObserve.append(",");
+                testObserve.append(splice.addedCount);
+                testObserve.append(",");
+                testObserve.append(toString(splice.added));
+                testObserve.append(",");
+                testObserve.append(splice.removedCount);
+                testObserve.append(",");
+                testObserve.append(toString(splice.removed));
+            } else {
+                testObserve.append(",");
+                testObserve.append(change.newValue);
+                testObserve.append(",");
+                testObserve.append(change.oldValue);
+            }
+            testObserve.append(" ");
+        }, true);
+
+        testArray.unshift("c");
+        testArray.remove("a");
+        testArray.setAt(0, "d");
+
+        assert(testObserve.toString().equals(
+            "splice,true,0,2,a|b,0, splice,true,0,1,c,0, splice,true,1,0,,1,a update,true,0,d,c "));
+
+        disposer.dispose();
+
+        testObserve.setLength(0);
+        testArray.push("e");
+        assert(testObserve.length() == 0);
+    }
+
+    private void testBulkMutations() {
+        ObservableArray<String> testArray = MobX.observable(makeArray("a", "b", "c"));
+
+        final StringBuilder testObserve = new StringBuilder();
+
+        DisposerFunction disposer = testArray.observe((change) -> {
+            ArraySplice<String> splice = change.asSplice();
+            testObserve.append(splice.index);
+            testObserve.append(",");
+            testObserve.append(toString(splice.added));
+            testObserve.append(",");
+            testObserve.append(toString(splice.removed));
+            testObserve.append(" ");
+        });
+
+        Array<String> removed = testArray.spliceWithArray(1, 1, makeArray("x", "y"));
+        assert(toString(removed).equals("b"));
+
+        testArray.addAll(makeArray("d", "e"));
+        testArray.addAll(0, makeArray("f"));
+
+        assert(testArray.removeAll((item) -> item.equals("x") || item.equals("d")));
+        assert(!testArray.removeAll((item) -> item.equals("z")));
+
+        assert(testArray.retainAll((item) -> !item.equals("e")));
+
+        assert(toString(testArray).equals("f|a|y|c"));
+        assert(testObserve.toString().equals(
+            "1,x|y,b 4,d|e, 0,f, 2,y|c|e,x|y|c|d|e 4,,e "));
+
+        disposer.dispose();
+    }
+
+    private void testIndex() {
+        ObservableArray<String> testArray = MobX.observable(makeArray("apple", "banana"));
+        ObservableIndex<String, String> index = new ObservableIndex<>(testArray, (item) -> item.substring(0, 1));
+
+        assert(index.get("a").equals("apple"));
+        assert(!index.has("c"));
+
+        final StringBuilder testAutorun = new StringBuilder();
+
+        DisposerFunction disposer = MobX.autorun(() -> {
+            testAutorun.append(index.has("c"));
+            testAutorun.append(" ");
+        });
+
+        testArray.push("date");
+        testArray.push("cherry");
+        testArray.remove("banana");
+        testArray.remove("cherry");
+
+        assert(index.get("b") == null);
+        assert(index.get("d").equals("date"));
+        assert(index.size() == 2);
+        assert(testAutorun.toString().equals("false true false "));
+
+        disposer.dispose();
+        index.dispose();
+    }
+
+    private void testLazyArray() {
+        final Array<JsProcedure> pendingLoads = JsArray.create();
+        final StringBuilder loads = new StringBuilder();
+
+        LazyObservableArray<String> lazyArray = new LazyObservableArray<>(100, 10, 1, (offset, count, callback) -> {
+            Array<String> items = JsArray.create();
+
+            for (int i = offset; i < offset + count; i++) {
+                items.push("item" + i);
+            }
+            loads.append(offset).append(" ");
+            callback.loaded(items);
+        }, pendingLoads::push);
+
+        //Reads outside a reaction don't load anything
+        assert(lazyArray.getAt(15) == null);
+        assert(pendingLoads.getLength() == 0);
+
+        final StringBuilder testAutorun = new StringBuilder();
+
+        DisposerFunction disposer = MobX.autorun(() -> {
+            testAutorun.append(lazyArray.isLoading(15) ? "loading" : lazyArray.getAt(15));
+            testAutorun.append(" ");
+        });
+
+        assert(pendingLoads.getLength() == 1);
+        pendingLoads.pop().call();
+        assert(testAutorun.toString().equals("loading item15 "));
+        assert(lazyArray.getLength() == 100);
+
+        //Loading a second page evicts the first one, as it is no longer observed
+        disposer.dispose();
+        disposer = MobX.autorun(() -> lazyArray.getAt(55));
+        pendingLoads.pop().call();
+        assert(lazyArray.getResidentPages() == 1);
+        assert(lazyArray.peek().getAt(15) == null);
+        assert(lazyArray.peek().getAt(55).equals("item55"));
+        assert(loads.toString().equals("10 50 "));
+        disposer.dispose();
+
+        //peek doesn't make a reaction depend on the length
+        final int[] peeks = {0};
+
+        disposer = MobX.autorun(() -> {
+            lazyArray.peek();
+            peeks[0]++;
+        });
+        lazyArray.setLength(90);
+        assert(peeks[0] == 1);
+
+        disposer.dispose();
+    }
+
+    private void testLazyArrayFailedLoad() {
+        final Array<JsProcedure> pendingLoads = JsArray.create();
+        final boolean[] fail = {true};
+
+        LazyObservableArray<String> lazyArray = new LazyObservableArray<>(100, 10, 1, (offset, count, callback) -> {
+            if (fail[0]) {
+                callback.failed();
+            } else {
+                Array<String> items = JsArray.create();
+
+                items.push("item" + offset);
+                callback.loaded(items);
+            }
+        }, pendingLoads::push);
+
+        final StringBuilder testAutorun = new StringBuilder();
+
+        DisposerFunction disposer = MobX.autorun(() -> {
+            testAutorun.append(lazyArray.isFailed(0) ? "failed" : lazyArray.isLoading(0) ? "loading" : lazyArray.getAt(0));
+            testAutorun.append(" ");
+        });
+
+        //The failure re-runs the autorun, which doesn't start loading the page again by itself
+        pendingLoads.pop().call();
+        assert(testAutorun.toString().equals("loading failed "));
+        assert(pendingLoads.getLength() == 0);
+
+        fail[0] = false;
+        lazyArray.retry(0);
+        assert(pendingLoads.getLength() == 1);
+        pendingLoads.pop().call();
+        assert(testAutorun.toString().equals("loading failed loading item0 "));
+
+        disposer.dispose();
+    }
+
+    private void testDerivedArrays() {
+        ObservableValue<String> apple = MobX.observableValue("apple");
+        ObservableValue<String> banana = MobX.observableValue("banana");
+        ObservableValue<String> cherry = MobX.observableValue("cherry");
+        ObservableIntValue minLength = MobX.observableValue(6);
+        ObservableArray<ObservableValue<String>> source = MobX.observableShallow(makeArray(cherry, apple));
+
+        ObservableArray<ObservableValue<String>> filtered = ObservableArrays.filtered(source, (item) -> item.get().length() >= minLength.get());
+        ObservableArray<String> mapped = ObservableArrays.mapped(source, (item) -> item.get().toUpperCase());
+        ObservableArray<ObservableValue<String>> sorted = ObservableArrays.sorted(source, ObservableValue::get, String::compareTo);
+
+        assert(values(filtered).equals("cherry"));
+        assert(toString(mapped).equals("CHERRY|APPLE"));
+        assert(values(sorted).equals("apple|cherry"));
+
+        source.push(banana);
+        assert(values(filtered).equals("cherry|banana"));
+        assert(values(sorted).equals("apple|banana|cherry"));
+
+        //Changing an entry only updates that entry
+        apple.set("avocado");
+        cherry.set("blueberry");
+        assert(values(filtered).equals("blueberry|avocado|banana"));
+        assert(toString(mapped).equals("BLUEBERRY|AVOCADO|BANANA"));
+        assert(values(sorted).equals("avocado|banana|blueberry"));
+
+        //Changing the filter is applied to the derived array as a single splice
+        final StringBuilder testObserve = new StringBuilder();
+
+        DisposerFunction disposer = filtered.observe((change) -> {
+            testObserve.append(change.index).append(",").append(change.asSplice().removedCount).append(" ");
+        });
+
+        minLength.set(7);
+        assert(values(filtered).equals("blueberry|avocado"));
+        assert(testObserve.toString().equals("2,1 "));
+
+        source.remove(apple);
+        assert(values(filtered).equals("blueberry"));
+        assert(toString(mapped).equals("BLUEBERRY|BANANA"));
+        assert(values(sorted).equals("banana|blueberry"));
+
+        disposer.dispose();
+        ObservableArrays.dispose(filtered);
+        ObservableArrays.dispose(mapped);
+        ObservableArrays.dispose(sorted);
+
+        banana.set("elderberry");
+        assert(toString(mapped).equals("BLUEBERRY|BANANA"));
+
+        //Disposing again, or an array that isn't derived, does nothing
+        ObservableArrays.dispose(mapped);
+        ObservableArrays.dispose(source);
+    }
+
+    private void testAggregates() {
+        ObservableIntValue one = MobX.observableValue(1);
+        ObservableIntValue two = MobX.observableValue(2);
+        ObservableIntValue three = MobX.observableValue(3);
+        ObservableArray<ObservableIntValue> source = MobX.observableShallow(makeArray(two, three));
+
+        ComputedIntValue odd = ObservableAggregates.count(source, (item) -> item.get() % 2 == 1);
+        ComputedDoubleValue sum = ObservableAggregates.sum(source, ObservableIntValue::get);
+        ComputedValue<Integer> min = ObservableAggregates.min(source, ObservableIntValue::get, Integer::compare);
+        ComputedValue<Integer> max = ObservableAggregates.max(source, ObservableIntValue::get, Integer::compare);
+        ComputedValue<ObservableMap<ObservableArray<ObservableIntValue>>> parity = ObservableAggregates.groupBy(source, (item) -> item.get() % 2 == 0 ? "even" : "odd");
+
+        //Read outside of a reaction the aggregates are computed from scratch
+        assert(odd.get() == 1);
+        assert(sum.get() == 5);
+
+        final StringBuilder testAutorun = new StringBuilder();
+
+        //The group members are logged by name, as reading their values would make the autorun
+        //react to them directly rather than only to the aggregates
+        final Function<Array<ObservableIntValue>, String> names = (group) -> group == null ? "" :
+            toString(group.map((item) -> item == one ? "one" : item == two ? "two" : "three"));
+
+        DisposerFunction disposer = MobX.autorun(() -> {
+            testAutorun.append(odd.get()).append(",").append(sum.get()).append(",").append(min.get()).append(",").append(max.get());
+            testAutorun.append(",").append(names.apply(parity.get().get("even"))).append("/").append(names.apply(parity.get().get("odd"))).append(" ");
+        });
+
+        //one is inserted before three in the odd group, as it is before it in the source
+        MobX.runInAction(() -> source.unshift(one));
+        //three moves from the odd group to the end of the even group
+        MobX.runInAction(() -> three.set(4));
+        //one moves to the start of the even group, ahead of the entries that were there first
+        MobX.runInAction(() -> one.set(0));
+        MobX.runInAction(() -> source.remove(two));
+        MobX.runInAction(() -> {
+            one.set(10);
+            source.clear();
+        });
+
+        assert(testAutorun.toString().equals(
+            "1,5,2,3,two/three 2,6,1,3,two/one|three 1,7,1,4,two|three/one 0,6,0,4,one|two|three/ "
+            + "0,4,0,4,one|three/ 0,0,null,null,/ "));
+
+        disposer.dispose();
+    }
+
+    private static String values(Array<ObservableValue<String>> a) {
+        return toString(a.map(ObservableValue::get));
+    }
+
+    @SafeVarargs
+    private static <T> Array<T> makeArray(T... values) {
+        Array<T> a = JsArray.create();
+
+        for (T v : values) {
+            a.push(v);
+        }
+        return a;
+    }
+
+    private static String toString(Array<String> a) {
+        return a.join("|");
+    }
+}
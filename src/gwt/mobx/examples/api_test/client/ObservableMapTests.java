@@ -1,15 +1,130 @@
 package gwt.react.mobx.api_test.client;
 
+import com.google.gwt.typedarrays.shared.ArrayBuffer;
 import gwt.interop.utils.client.JSON;
+import gwt.interop.utils.client.plainobjects.JsPlainObj;
 import gwt.interop.utils.shared.collections.Array;
 import gwt.interop.utils.shared.collections.StringMap;
+import gwt.mobx.client.ChangeType;
 import gwt.mobx.client.MobX;
 import gwt.mobx.client.MobX.DisposerFunction;
+import gwt.mobx.client.ObservableArray;
+import gwt.mobx.client.ObservableCodec;
+import gwt.mobx.client.ObservableIntMap;
+import gwt.mobx.client.ObservableLruMap;
 import gwt.mobx.client.ObservableMap;
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
 
 public class ObservableMapTests {
 
     public void run() {
+        testStringMap();
+        testIntMap();
+        testLruMap();
+        testLruMapExpiry();
+        testCodec();
+        testIntercept();
+    }
+
+    private void testIntercept() {
+        ObservableMap<String> testMap = MobX.map();
+
+        final StringBuilder testObserve = new StringBuilder();
+
+        DisposerFunction observer = testMap.observe(info -> {
+            testObserve.append(info.getChangeType()).append(":").append(info.name);
+            if (info.getChangeType() != ChangeType.DELETE) {
+                testObserve.append("=").append(info.newValue);
+            }
+            testObserve.append(" ");
+        });
+
+        //Empty values and deleting the locked key are vetoed, other values are normalised
+        DisposerFunction interceptor = testMap.intercept(change -> {
+            if (change.getChangeType() == ChangeType.DELETE) {
+                return change.name.equals("locked") ? null : change;
+            }
+            if (change.newValue.trim().isEmpty()) {
+                return null;
+            }
+            change.newValue = change.newValue.trim().toLowerCase();
+            return change;
+        });
+
+        testMap.set("a", "  Hello ");
+        testMap.set("a", " ");
+        testMap.set("locked", "X");
+        testMap.delete("locked");
+        testMap.set("a", "World");
+        testMap.delete("a");
+
+        assert(testObserve.toString().equals("ADD:a=hello ADD:locked=x UPDATE:a=world DELETE:a "));
+        assert(!testMap.has("a") && testMap.get("locked").equals("x"));
+
+        interceptor.dispose();
+        testMap.set("b", " B ");
+        assert(testMap.get("b").equals(" B "));
+        observer.dispose();
+    }
+
+    private void testCodec() {
+        Object state = JSON.parse("{\"name\":\"Store\",\"count\":-3,\"ratio\":0.5,\"open\":true,\"owner\":null,"
+                + "\"todos\":[{\"text\":\"A\",\"done\":false},{\"text\":\"B\",\"done\":true}]}");
+        String json = JSON.stringify(state);
+
+        ArrayBuffer buffer = ObservableCodec.encode(state);
+        assert(JSON.stringify(ObservableCodec.decodeJS(buffer)).equals(json));
+
+        //Values are decoded straight into observables
+        StoreDO store = ObservableCodec.decode(buffer);
+        assert(MobX.isObservableObject(store) && MobX.isObservableArray(store.todos));
+        assert(MobX.isObservableObject(store.todos.getAt(0)));
+        assert(JSON.stringify(MobX.toJSON(store, false)).equals(json));
+
+        ObservableMap<Object> map = MobX.map();
+        map.set("name", "Old");
+        map.set("other", "Kept");
+
+        final StringBuilder testObserve = new StringBuilder();
+        DisposerFunction disposer = MobX.autorun(() -> testObserve.append(map.get("name")).append(","));
+
+        map.merge(buffer);
+        assert(testObserve.toString().equals("Old,Store,"));
+        assert(map.get("other").equals("Kept") && MobX.isObservableArray(map.get("todos")));
+        disposer.dispose();
+
+        //Maps are encoded as maps, and arrays can be replaced in place
+        ObservableMap<Object> copy = ObservableCodec.decode(ObservableCodec.encode(map));
+        assert(MobX.isObservableMap(copy) && toString(copy.keys()).equals(toString(map.keys())));
+
+        ObservableArray<Object> todos = store.todos;
+        todos.replace(ObservableCodec.encode(MobX.toJSON(todos, false)));
+        assert(todos == store.todos && JSON.stringify(MobX.toJSON(store, false)).equals(json));
+
+        //Shared values are encoded once per reference, cycles are rejected
+        JsPlainObj shared = new JsPlainObj();
+        JsPlainObj graph = new JsPlainObj();
+        graph.set("a", shared);
+        graph.set("b", shared);
+        assert(JSON.stringify(ObservableCodec.decodeJS(ObservableCodec.encode(graph))).equals("{\"a\":{},\"b\":{}}"));
+
+        shared.set("graph", graph);
+        boolean rejected = false;
+        try {
+            ObservableCodec.encode(graph);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assert(rejected);
+    }
+
+    @JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "Object")
+    static class StoreDO extends JsPlainObj {
+        public ObservableArray<Object> todos;
+    }
+
+    private void testStringMap() {
         ObservableMap<String> testMap = MobX.map();
 
         testMap.set("key1","value1");
@@ -69,6 +184,110 @@ public class ObservableMapTests {
         assert(s.equals("{\"k1\":\"v1\",\"k2\":\"v2.1\"}"));
     }
 
+    private void testIntMap() {
+        ObservableIntMap<String> testMap = MobX.intMap();
+
+        testMap.set(1, "value1");
+        testMap.set(20, "value20");
+
+        assert(testMap.has(1));
+        assert(!testMap.has(2));
+        assert(testMap.get(20).equals("value20"));
+        assert(testMap.size() == 2);
+
+        testMap.delete(1);
+        assert(testMap.get(1) == null);
+
+        String keys = toString(testMap.keys());
+        assert(keys.equals("20"));
+    }
+
+    private void testLruMap() {
+        ObservableLruMap<String> testMap = new ObservableLruMap<>(2);
+        final StringBuilder testObserve = new StringBuilder();
+        final StringBuilder testAutorun = new StringBuilder();
+
+        DisposerFunction observeDisposer = testMap.observe((change) -> {
+            testObserve.append(change.type).append(":").append(change.name).append(" ");
+        });
+
+        testMap.set("key1", "value1");
+        testMap.set("key2", "value2");
+
+        DisposerFunction autorunDisposer = MobX.autorun(() -> testAutorun.append(testMap.has("key2")).append(" "));
+
+        //Reading key1 makes key2 the least recently used entry, without running the autorun
+        assert(testMap.get("key1").equals("value1"));
+        testMap.set("key3", "value3");
+
+        assert(testMap.size() == 2);
+        assert(!testMap.has("key2"));
+        assert(toString(testMap.keys()).equals("key1,key3"));
+        assert(testObserve.toString().equals("add:key1 add:key2 add:key3 delete:key2 "));
+        assert(testAutorun.toString().equals("true false "));
+
+        //The map's own mutations are actions, so they are allowed in strict mode
+        MobX.useStrict(true);
+        try {
+            testMap.delete("key1");
+            testMap.clear();
+        } finally {
+            MobX.useStrict(false);
+        }
+        assert(testMap.size() == 0);
+
+        observeDisposer.dispose();
+        autorunDisposer.dispose();
+        testMap.dispose();
+    }
+
+    private void testLruMapExpiry() {
+        ManualTimers timers = new ManualTimers();
+        ObservableLruMap<String> testMap = new ObservableLruMap<>(10, 100, timers);
+        final StringBuilder testObserve = new StringBuilder();
+
+        DisposerFunction observeDisposer = testMap.observe((change) -> {
+            testObserve.append(change.type).append(":").append(change.name).append(" ");
+        });
+
+        testMap.set("key1", "value1");
+        timers.advance(50);
+        testMap.set("key2", "value2");
+        assert(timers.getPendingCount() == 1);
+
+        //The scheduled purge deletes key1 when it expires, then waits for key2
+        timers.advance(50);
+        assert(!testMap.has("key1") && testMap.has("key2"));
+        assert(toString(testMap.keys()).equals("key2"));
+        assert(timers.getPendingCount() == 1);
+
+        timers.advance(50);
+        assert(testMap.size() == 0);
+        assert(timers.getPendingCount() == 0);
+
+        //Setting a key again restarts its TTL
+        testMap.set("key3", "value3");
+        timers.advance(60);
+        testMap.set("key3", "value3b");
+        timers.advance(60);
+        assert(testMap.get("key3").equals("value3b"));
+
+        //Once disposed nothing is purged automatically, but expired entries read as absent
+        //until purgeExpired deletes them
+        testMap.dispose();
+        assert(timers.getPendingCount() == 0);
+        timers.advance(100);
+        assert(!testMap.has("key3") && testMap.get("key3") == null);
+        assert(toString(testMap.keys()).equals("key3"));
+
+        testMap.purgeExpired();
+        assert(testMap.size() == 0);
+        assert(testObserve.toString().equals(
+            "add:key1 add:key2 delete:key1 delete:key2 add:key3 update:key3 delete:key3 "));
+
+        observeDisposer.dispose();
+    }
+
     private static String toString(Array<String> a) {
         return a.join(",");
     }
@@ -0,0 +1,64 @@
+package gwt.react.mobx.api_test.client;
+
+import gwt.mobx.client.annotations.Action;
+import gwt.mobx.client.annotations.Computed;
+import gwt.mobx.client.annotations.Observable;
+
+/**
+ * A data object made observable by the ObservableProcessor. Create instances with
+ * new ObservableTodoModel(...)
+ */
+@Observable
+public class TodoModel {
+    String text;
+    boolean completed;
+    int edits;
+
+    public TodoModel(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Creates a todo that has already been edited. This uses the accessors, which the
+     * observable class overrides, while the constructor is running
+     */
+    public TodoModel(String text, int edits) {
+        setText(text);
+        setEdits(getEdits() + edits);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public int getEdits() {
+        return edits;
+    }
+
+    public void setEdits(int edits) {
+        this.edits = edits;
+    }
+
+    @Computed
+    public String getLabel() {
+        return (isCompleted() ? "[x] " : "[ ] ") + getText();
+    }
+
+    @Action
+    public void edit(String text) {
+        setText(text);
+        setEdits(getEdits() + 1);
+    }
+}
@@ -0,0 +1,104 @@
+package gwt.mobx.examples.benchmark.client;
+
+/**
+ * A single micro-benchmark, run in the style of JMH: a number of warm up iterations whose results
+ * are discarded, followed by a number of timed measurement iterations. Each iteration calls
+ * {@link #run(int)} in batches until the iteration time has elapsed. Allocations are measured in a
+ * separate pass, by comparing the heap size before and after a fixed number of operations.
+ *
+ * Subclasses build any state they need in {@link #setUp()} and release it in {@link #tearDown()},
+ * neither of which is timed.
+ */
+abstract class Benchmark {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final double ITERATION_MILLIS = 200;
+    private static final int BATCH_SIZE = 100;
+    private static final int ALLOCATION_OPS = 1000;
+
+    private final String name;
+
+    /**
+     * Accumulates values read by the benchmarks, so the compiler can't prove the reads are dead
+     * code and remove them.
+     */
+    double sink;
+
+    Benchmark(String name) {
+        this.name = name;
+    }
+
+    void setUp() {
+    }
+
+    /**
+     * Performs a single operation
+     *
+     * @param op The index of the operation within the current iteration
+     */
+    abstract void run(int op);
+
+    void tearDown() {
+    }
+
+    void execute() {
+        setUp();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            iteration();
+        }
+
+        double[] samples = new double[MEASUREMENT_ITERATIONS];
+        double mean = 0;
+
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            samples[i] = iteration();
+            mean += samples[i];
+        }
+        mean /= MEASUREMENT_ITERATIONS;
+
+        double variance = 0;
+
+        for (double sample : samples) {
+            variance += (sample - mean) * (sample - mean);
+        }
+
+        double error = Math.sqrt(variance / MEASUREMENT_ITERATIONS);
+        double bytesPerOp = allocationsPerOp();
+
+        tearDown();
+
+        BenchmarkHost.report(name, mean, error, bytesPerOp);
+    }
+
+    private double iteration() {
+        int ops = 0;
+        double start = BenchmarkHost.now();
+        double elapsed;
+
+        do {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                run(ops++);
+            }
+            elapsed = BenchmarkHost.now() - start;
+        } while (elapsed < ITERATION_MILLIS);
+
+        return ops * 1000 / elapsed;
+    }
+
+    private double allocationsPerOp() {
+        BenchmarkHost.gc();
+
+        double before = BenchmarkHost.heapUsed();
+
+        if (before < 0) {
+            return -1;
+        }
+
+        for (int i = 0; i < ALLOCATION_OPS; i++) {
+            run(i);
+        }
+
+        return Math.max(0, BenchmarkHost.heapUsed() - before) / ALLOCATION_OPS;
+    }
+}
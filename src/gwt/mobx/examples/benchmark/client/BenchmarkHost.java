@@ -0,0 +1,46 @@
+package gwt.mobx.examples.benchmark.client;
+
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * The services the benchmark harness needs from the page or script that hosts it. The host is
+ * installed as the global <code>benchmarkHost</code> object, by web/benchmark/run.js when running
+ * headless under node or by web/mobxBenchmark.html when running in a browser.
+ */
+@JsType(isNative = true, namespace = JsPackage.GLOBAL, name = "benchmarkHost")
+class BenchmarkHost {
+
+    /**
+     * @return A high resolution time stamp in milliseconds
+     */
+    public static native double now();
+
+    /**
+     * @return The number of bytes currently allocated on the JS heap, or a negative value if the
+     * engine doesn't expose heap statistics
+     */
+    public static native double heapUsed();
+
+    /**
+     * Requests a full garbage collection. This is a no-op if the engine doesn't allow it, in which
+     * case the reported allocation figures will be noisier.
+     */
+    public static native void gc();
+
+    /**
+     * Reports the result of a single benchmark
+     *
+     * @param name The name of the benchmark
+     * @param opsPerSec The mean number of operations per second over the measurement iterations
+     * @param error The standard deviation of opsPerSec over the measurement iterations
+     * @param bytesPerOp The mean number of bytes allocated per operation, or a negative value if
+     *                   it couldn't be measured
+     */
+    public static native void report(String name, double opsPerSec, double error, double bytesPerOp);
+
+    /**
+     * Called once all the benchmarks have been run
+     */
+    public static native void done();
+}
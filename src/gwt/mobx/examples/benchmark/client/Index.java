@@ -0,0 +1,11 @@
+package gwt.mobx.examples.benchmark.client;
+
+import com.google.gwt.core.client.EntryPoint;
+
+public class Index implements EntryPoint {
+
+    @Override
+    public void onModuleLoad() {
+        new MobXBenchmarks().run();
+    }
+}
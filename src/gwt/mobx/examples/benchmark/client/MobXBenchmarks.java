@@ -0,0 +1,207 @@
+package gwt.mobx.examples.benchmark.client;
+
+import gwt.interop.utils.client.collections.JsArray;
+import gwt.interop.utils.shared.collections.Array;
+import gwt.mobx.client.MobX;
+import gwt.mobx.client.MobX.*;
+import gwt.mobx.client.ObservableArray;
+import gwt.mobx.client.ObservableMap;
+
+/**
+ * Micro-benchmarks for the hot paths of the MobX bindings. These are intended to catch
+ * regressions when the bundled MobX is upgraded, so each one exercises a single API in
+ * isolation.
+ */
+class MobXBenchmarks {
+    private static final int FAN_OUT = 100;
+    private static final int BATCHED_VALUES = 10;
+    private static final int MAP_SIZE = 1000;
+    private static final int ARRAY_SIZE = 10000;
+
+    void run() {
+        new ObservableValueGetSet().execute();
+        new ComputedRecompute().execute();
+        new AutorunFanOut().execute();
+        new TransactionBatching().execute();
+        new ObservableMapSetGet().execute();
+        new ObservableArraySplice().execute();
+        BenchmarkHost.done();
+    }
+
+    static class ObservableValueGetSet extends Benchmark {
+        ObservableIntValue value;
+
+        ObservableValueGetSet() {
+            super("observableValue.get/set");
+        }
+
+        @Override
+        void setUp() {
+            value = MobX.observableValue(0);
+        }
+
+        @Override
+        void run(int op) {
+            value.set(op);
+            sink += value.get();
+        }
+    }
+
+    static class ComputedRecompute extends Benchmark {
+        ObservableIntValue source;
+        DisposerFunction disposer;
+
+        ComputedRecompute() {
+            super("computed recompute");
+        }
+
+        @Override
+        void setUp() {
+            source = MobX.observableValue(0);
+
+            ComputedIntValue doubled = MobX.computed((ComputedIntExpression)() -> source.get() * 2);
+
+            //Observe the computed so it is cached and recomputed eagerly, rather than being
+            //evaluated on each read
+            disposer = MobX.autorun(() -> sink += doubled.get());
+        }
+
+        @Override
+        void run(int op) {
+            source.set(op);
+        }
+
+        @Override
+        void tearDown() {
+            disposer.dispose();
+        }
+    }
+
+    static class AutorunFanOut extends Benchmark {
+        ObservableIntValue source;
+        DisposerFunction[] disposers = new DisposerFunction[FAN_OUT];
+
+        AutorunFanOut() {
+            super("autorun fan-out (" + FAN_OUT + " observers)");
+        }
+
+        @Override
+        void setUp() {
+            source = MobX.observableValue(0);
+
+            for (int i = 0; i < FAN_OUT; i++) {
+                disposers[i] = MobX.autorun(() -> sink += source.get());
+            }
+        }
+
+        @Override
+        void run(int op) {
+            source.set(op);
+        }
+
+        @Override
+        void tearDown() {
+            for (DisposerFunction disposer : disposers) {
+                disposer.dispose();
+            }
+        }
+    }
+
+    static class TransactionBatching extends Benchmark {
+        ObservableIntValue[] values = new ObservableIntValue[BATCHED_VALUES];
+        DisposerFunction disposer;
+        int next;
+
+        TransactionBatching() {
+            super("transaction (" + BATCHED_VALUES + " updates, 1 observer)");
+        }
+
+        @Override
+        void setUp() {
+            for (int i = 0; i < BATCHED_VALUES; i++) {
+                values[i] = MobX.observableValue(0);
+            }
+
+            disposer = MobX.autorun(() -> {
+                for (ObservableIntValue value : values) {
+                    sink += value.get();
+                }
+            });
+        }
+
+        @Override
+        void run(int op) {
+            next = op;
+            MobX.transaction(() -> {
+                for (ObservableIntValue value : values) {
+                    value.set(next);
+                }
+            });
+        }
+
+        @Override
+        void tearDown() {
+            disposer.dispose();
+        }
+    }
+
+    static class ObservableMapSetGet extends Benchmark {
+        ObservableMap<Integer> map;
+        String[] keys = new String[MAP_SIZE];
+
+        ObservableMapSetGet() {
+            super("ObservableMap.set/get (" + MAP_SIZE + " keys)");
+        }
+
+        @Override
+        void setUp() {
+            map = MobX.map();
+
+            for (int i = 0; i < MAP_SIZE; i++) {
+                keys[i] = "key" + i;
+                map.set(keys[i], i);
+            }
+        }
+
+        @Override
+        void run(int op) {
+            String key = keys[op % MAP_SIZE];
+
+            map.set(key, op);
+            sink += map.get(key);
+        }
+    }
+
+    static class ObservableArraySplice extends Benchmark {
+        ObservableArray<Integer> array;
+        Array<Integer> inserted = JsArray.create();
+        Array<Integer> none = JsArray.create();
+
+        ObservableArraySplice() {
+            super("ObservableArray.splice (" + ARRAY_SIZE + " items)");
+        }
+
+        @Override
+        void setUp() {
+            Array<Integer> items = JsArray.create();
+
+            for (int i = 0; i < ARRAY_SIZE; i++) {
+                items.push(i);
+            }
+
+            array = MobX.observable(items);
+            inserted.push(-1);
+        }
+
+        @Override
+        void run(int op) {
+            //Alternate between inserting and removing an item in the middle of the array, so
+            //the length stays constant across iterations
+            if ((op & 1) == 0) {
+                array.spliceWithArray(ARRAY_SIZE / 2, 0, inserted);
+            } else {
+                array.spliceWithArray(ARRAY_SIZE / 2, 1, none);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import gwt.interop.utils.shared.collections.Array;
 import gwt.mobx.client.MobX;
 import gwt.mobx.client.MobX.*;
 import gwt.mobx.client.ObservableArray;
+import gwt.mobx.client.ObservableArrays;
+import gwt.mobx.client.ObservableIndex;
 
 public class AppState {
     public enum FilterStatus {
@@ -13,21 +15,20 @@ public class AppState {
 
     private ObservableValue<FilterStatus> filter = MobX.observableValue(FilterStatus.ShowAll);
     private ObservableArray<TodoDO> todos = MobX.observable(JsArray.create());
+    private ObservableIndex<Integer, TodoDO> todosById = new ObservableIndex<>(todos, (todo) -> todo.id);
 
-    private ComputedValue<Array<TodoDO>> visibleTodos = MobX.computed(() -> {
-        return todos.filter((todo) -> {
-            switch(filter.get()) {
-                case ShowActive: return !todo.completed;
-                case ShowCompleted: return todo.completed;
-                default:
-                	break;
-            }
-            return true;
-        });
+    private ObservableArray<TodoDO> visibleTodos = ObservableArrays.filtered(todos, (todo) -> {
+        switch(filter.get()) {
+            case ShowActive: return !todo.completed;
+            case ShowCompleted: return todo.completed;
+            default:
+            	break;
+        }
+        return true;
     });
 
     private TodoDO findTodo(int id) {
-        return todos.find((todo) -> todo.id == id);
+        return todosById.get(id);
     }
 
     public TodoDO addTodo(String text){
@@ -39,6 +40,17 @@ public class AppState {
         return newTodo;
     }
 
+    public void addTodos(Array<String> texts) {
+        Array<TodoDO> newTodos = JsArray.create();
+        int nextId = todos.getLength();
+
+        for (int i = texts.getLength() - 1; i >= 0; i--) {
+            newTodos.push(TodoDO.make(nextId + i, texts.getAt(i), false));
+        }
+
+        MobX.runInAction("addTodos", () -> todos.addAll(0, newTodos));
+    }
+
     public void toggleTodo(int id) {
         MobX.runInAction("toggleTodo", () -> {
             TodoDO editTodo = findTodo(id);
@@ -55,6 +67,6 @@ public class AppState {
     }
 
     public Array<TodoDO> getVisibleTodos() {
-        return visibleTodos.get();
+        return visibleTodos;
     }
 }
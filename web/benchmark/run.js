@@ -0,0 +1,81 @@
+/*
+ * Runs the gwt-mobx micro-benchmarks headless under node, without a browser or network access.
+ *
+ * Compile the gwt.mobx.examples.benchmark.mobxbenchmark module into web/ first, then run:
+ *
+ *   node --expose-gc web/benchmark/run.js [path to mobxbenchmark.nocache.js]
+ *
+ * The bundled web/dist/gwt-mobx-react-bundle.js is loaded first, exactly as the example pages do,
+ * so upgrading the bundle and re-running this script shows whether the hot paths regressed.
+ */
+'use strict';
+
+var fs = require('fs');
+var path = require('path');
+var vm = require('vm');
+
+var webDir = path.resolve(__dirname, '..');
+var modulePath = path.resolve(process.argv[2] || path.join(webDir, 'mobxbenchmark', 'mobxbenchmark.nocache.js'));
+
+function load(file) {
+    vm.runInThisContext(fs.readFileSync(file, 'utf8'), { filename: file });
+}
+
+function pad(value, width) {
+    value = String(value);
+    while (value.length < width) {
+        value = ' ' + value;
+    }
+    return value;
+}
+
+// The bundle and the GWT module both expect to run in a window. Alias it to the global object,
+// but only provide a document once the bundle has loaded, so React doesn't try to use the DOM.
+global.window = global;
+load(path.join(webDir, 'dist', 'gwt-mobx-react-bundle.js'));
+
+// The minimum the single script linker's bootstrap needs in order to start the module
+global.document = {
+    readyState: 'complete',
+    location: { href: 'file://' + modulePath, search: '' },
+    body: {},
+    write: function() {},
+    getElementById: function() { return null; },
+    getElementsByTagName: function() { return []; },
+    createElement: function() { return {}; },
+    addEventListener: function() {},
+    removeEventListener: function() {}
+};
+global.location = global.document.location;
+
+global.benchmarkHost = {
+    now: function() {
+        return performance.now();
+    },
+
+    heapUsed: function() {
+        return process.memoryUsage().heapUsed;
+    },
+
+    gc: function() {
+        if (typeof global.gc === 'function') {
+            global.gc();
+        }
+    },
+
+    report: function(name, opsPerSec, error, bytesPerOp) {
+        console.log(pad(name, 48) + pad(Math.round(opsPerSec).toLocaleString('en-US'), 16) + ' ops/s' +
+            pad('± ' + (error / opsPerSec * 100).toFixed(1) + '%', 10) +
+            (bytesPerOp < 0 ? '' : pad(Math.round(bytesPerOp), 10) + ' B/op'));
+    },
+
+    done: function() {
+        console.log('Done');
+    }
+};
+
+if (typeof global.gc !== 'function') {
+    console.log('Run node with --expose-gc for steadier allocation figures');
+}
+
+load(modulePath);